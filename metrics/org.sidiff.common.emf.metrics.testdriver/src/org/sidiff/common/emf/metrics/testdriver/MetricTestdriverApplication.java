@@ -3,6 +3,7 @@ package org.sidiff.common.emf.metrics.testdriver;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.emf.common.util.URI;
@@ -12,6 +13,7 @@ import org.eclipse.equinox.app.IApplicationContext;
 import org.sidiff.common.emf.metrics.MetricsFacade;
 import org.sidiff.common.emf.metrics.MetricsList;
 import org.sidiff.common.emf.metrics.MetricsListDifference;
+import org.sidiff.common.emf.metrics.MetricsRecomputation;
 import org.sidiff.common.emf.metrics.MetricsScope;
 import org.sidiff.common.emf.modelstorage.SiDiffResourceSet;
 import org.sidiff.common.statistics.StatisticsUtil;
@@ -36,7 +38,21 @@ public class MetricTestdriverApplication implements IApplication {
 
 				System.out.println("########### Metrics : " + uri + " ###########");
 				MetricsList metrics = MetricsFacade.getMetrics(new MetricsScope(resource));
+				StatisticsUtil timing = StatisticsUtil.createStatisticsUtil();
+				timing.start("per-metric");
+				MetricsRecomputation.recomputeAll(metrics, null, new NullProgressMonitor());
+				timing.stop("per-metric");
+				Map<String,Object> sequentialData = metrics.export();
+				timing.start("fused");
 				metrics.recomputeAll(new NullProgressMonitor());
+				timing.stop("fused");
+				boolean fusedEqual = sequentialData.equals(metrics.export());
+				timing.start("parallel");
+				metrics.recomputeAll(new NullProgressMonitor(), ForkJoinPool.commonPool());
+				timing.stop("parallel");
+				System.out.println("Recomputation times (ms): " + timing.getTimeStatistic()
+					+ ", fused results equal: " + fusedEqual
+					+ ", parallel results equal: " + sequentialData.equals(metrics.export()));
 				System.out.println("All metrics: " + metrics);
 				metrics.removeAllIrrelevant();
 				System.out.println("Irrelevant metrics removed: " + metrics);
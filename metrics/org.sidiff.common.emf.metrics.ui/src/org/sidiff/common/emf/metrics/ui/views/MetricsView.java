@@ -2,6 +2,7 @@ package org.sidiff.common.emf.metrics.ui.views;
 
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -54,6 +55,7 @@ public class MetricsView extends ViewPart implements ISelectionListener {
 	private Action takeSnapshotAction;
 	private Action removeSnapshotAction;
 	private Action expandSelectionAction;
+	private Action liveUpdateAction;
 	private Action showDifferencesViewAction;
 
 	@Override
@@ -70,6 +72,7 @@ public class MetricsView extends ViewPart implements ISelectionListener {
 		takeSnapshotAction = createTakeSnapshotAction();
 		removeSnapshotAction = createRemoveSnapshotAction();
 		expandSelectionAction = createExpandSelectionAction();
+		liveUpdateAction = createLiveUpdateAction();
 		showDifferencesViewAction = createShowDifferencesViewAction();
 		createToolBarMenu();
 
@@ -95,8 +98,7 @@ public class MetricsView extends ViewPart implements ISelectionListener {
 			public void run() {
 				Set<MetricHandle> handles = selectionTab.getSelectedHandles();
 				if(!handles.isEmpty()) {
-					new RecomputeMetricsJob(handles,
-							() -> selectionTab.refreshHandles(handles)).schedule();
+					selectionTab.recompute(handles, null);
 				}
 			}
 		};
@@ -194,8 +196,7 @@ public class MetricsView extends ViewPart implements ISelectionListener {
 			@Override
 			public void run() {
 				if(selectionTab.metrics != null) {
-					new RecomputeMetricsJob(selectionTab.metrics,
-							() -> selectionTab.refreshHandles(selectionTab.metrics)).schedule();
+					selectionTab.recompute(selectionTab.metrics, ForkJoinPool.commonPool());
 				}
 			}
 		};
@@ -219,6 +220,19 @@ public class MetricsView extends ViewPart implements ISelectionListener {
 		return action;
 	}
 
+	private Action createLiveUpdateAction() {
+		Action action = new Action("Live Update", IAction.AS_CHECK_BOX) {
+			@Override
+			public void run() {
+				// Checked state is already changed, update the tracking
+				selectionTab.setLiveUpdate(isChecked());
+			}
+		};
+		action.setToolTipText("Update the values of the metrics while the selected model is edited. "
+				+ "Values which cannot be updated incrementally are marked as outdated.");
+		return action;
+	}
+
 	private Action createShowDifferencesViewAction() {
 		Action action = new Action() {
 			@Override
@@ -255,6 +269,7 @@ public class MetricsView extends ViewPart implements ISelectionListener {
 		dropDownMenu.add(takeSnapshotAction);
 		dropDownMenu.add(removeSnapshotAction);
 		dropDownMenu.add(expandSelectionAction);
+		dropDownMenu.add(liveUpdateAction);
 		dropDownMenu.add(showDifferencesViewAction);
 	}
 
@@ -299,6 +314,7 @@ public class MetricsView extends ViewPart implements ISelectionListener {
 		takeSnapshotAction.setEnabled(selectionTabSelected && selectionTab.metrics != null);
 		removeSnapshotAction.setEnabled(tabFolder.getSelectionIndex() > 0);
 		expandSelectionAction.setEnabled(selectionTabSelected);
+		liveUpdateAction.setEnabled(selectionTabSelected);
 	}
 
 	void handleTabsChanged() {
@@ -315,6 +331,9 @@ public class MetricsView extends ViewPart implements ISelectionListener {
 
 	@Override
 	public void dispose() {
+		if(selectionTab != null) {
+			selectionTab.setLiveUpdate(false);
+		}
 		super.dispose();
 		if(clipboard != null) {
 			clipboard.dispose();
@@ -342,6 +361,9 @@ public class MetricsView extends ViewPart implements ISelectionListener {
 
 		private MetricsScope scope;
 		private MetricsList metrics;
+		private MetricsChangeTracker changeTracker;
+		private int runningRecomputations;
+		private final Set<MetricHandle> pendingRefresh = new LinkedHashSet<>();
 
 		Tab(TabFolder tabFolder, String title) {
 			tabItem = new TabItem(tabFolder, SWT.NONE);
@@ -452,10 +474,9 @@ public class MetricsView extends ViewPart implements ISelectionListener {
 				public String getText(Object element) {
 					if(element instanceof MetricHandle) {
 						MetricHandle handle = (MetricHandle)element;
-						if(handle.isUncategorized()) {
-							return MetricsLabelUtil.getLabel(handle.getUncategorizedValues());
-						}
-						return "<categorized value>";
+						String label = handle.isUncategorized()
+								? MetricsLabelUtil.getLabel(handle.getUncategorizedValues()) : "<categorized value>";
+						return handle.isDirty() ? label + " (outdated)" : label;
 					} else if(element instanceof MetricHandleKeyValue) {
 						return MetricsLabelUtil.getLabel(((MetricHandleKeyValue)element).values);
 					}
@@ -463,6 +484,9 @@ public class MetricsView extends ViewPart implements ISelectionListener {
 				}
 				@Override
 				public String getToolTipText(Object element) {
+					if(element instanceof MetricHandle && ((MetricHandle)element).isDirty()) {
+						return "The model has changed. Double click to recompute.";
+					}
 					return "Double click to recompute.";
 				}
 			});
@@ -524,19 +548,74 @@ public class MetricsView extends ViewPart implements ISelectionListener {
 			updateActionStates();
 		}
 
-		public void refreshHandles(Collection<? extends MetricHandle> handles) {
-			Display.getDefault().asyncExec(() -> handles.forEach(treeViewer::refresh));
-		}
-
 		public void setSelectedNotifier(Notifier selectedNotifier) {
 			MetricsScope newScope = createMetricsScope(selectedNotifier);
 			if(!Objects.equals(scope, newScope)) {
 				scope = newScope;
 				metrics = Optional.ofNullable(scope).map(MetricsFacade::getMetrics).orElse(null);
+				setLiveUpdate(liveUpdateAction.isChecked());
 				handleMetricsChanged();
 			}
 		}
 
+		public void setLiveUpdate(boolean liveUpdate) {
+			if(changeTracker != null) {
+				changeTracker.stop();
+				changeTracker = null;
+			}
+			if(liveUpdate && metrics != null) {
+				changeTracker = metrics.createChangeTracker();
+				changeTracker.addListener(this::handleValuesChanged);
+				changeTracker.start();
+				if(runningRecomputations > 0) {
+					changeTracker.pause();
+				}
+			}
+		}
+
+		/**
+		 * Recomputes the handles in a job. The change tracker is paused while handles are
+		 * recomputed, so it does not update the handles concurrently to the job.
+		 * @param handles the handles to recompute
+		 * @param pool the pool to compute the handles in, <code>null</code> to compute them sequentially
+		 */
+		public void recompute(Collection<? extends MetricHandle> handles, ForkJoinPool pool) {
+			runningRecomputations++;
+			if(changeTracker != null) {
+				changeTracker.pause();
+			}
+			new RecomputeMetricsJob(handles, pool, () -> Display.getDefault().asyncExec(() -> {
+				runningRecomputations--;
+				if(runningRecomputations == 0 && changeTracker != null) {
+					changeTracker.resume();
+				}
+				if(!treeViewer.getControl().isDisposed()) {
+					handles.forEach(treeViewer::refresh);
+				}
+			})).schedule();
+		}
+
+		private void handleValuesChanged(Set<MetricHandle> handles) {
+			// Many changes may be made at once, so all changed handles are refreshed together
+			synchronized(pendingRefresh) {
+				boolean refreshScheduled = !pendingRefresh.isEmpty();
+				pendingRefresh.addAll(handles);
+				if(refreshScheduled) {
+					return;
+				}
+			}
+			Display.getDefault().asyncExec(() -> {
+				List<MetricHandle> changedHandles;
+				synchronized(pendingRefresh) {
+					changedHandles = new ArrayList<>(pendingRefresh);
+					pendingRefresh.clear();
+				}
+				if(!treeViewer.getControl().isDisposed()) {
+					changedHandles.forEach(treeViewer::refresh);
+				}
+			});
+		}
+
 		public Notifier getSelectedNotifier() {
 			if(scope == null) {
 				return null;
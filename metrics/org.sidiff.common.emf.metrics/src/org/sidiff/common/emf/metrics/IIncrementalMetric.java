@@ -0,0 +1,26 @@
+package org.sidiff.common.emf.metrics;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+
+/**
+ * A metric whose numeric values can be updated incrementally when its context changes,
+ * instead of being recomputed from scratch. The updates are applied to the
+ * {@link MetricHandle}s by a {@link MetricsChangeTracker}.
+ */
+public interface IIncrementalMetric extends IMetric {
+
+	/**
+	 * <p>Calculates the change of this metric's values which is caused by the given notification.
+	 * The notifier of the notification is the context or one of its direct or indirect contents.</p>
+	 * <p>The values that are passed to the acceptor are numbers, which are added to the current
+	 * values with the same keys. Changes which do not affect the values of the metric pass
+	 * no values to the acceptor.</p>
+	 * @param context the context for which the metric has been computed, is always an instance of {@link #getContextType()}
+	 * @param notification the notification of the change
+	 * @param acceptor an acceptor for the deltas of the metric values
+	 * @return <code>true</code> if the delta has been calculated, <code>false</code> if the change
+	 * cannot be handled incrementally, and the metric must be recomputed
+	 */
+	boolean calculateDelta(Notifier context, Notification notification, IMetricValueAcceptor acceptor);
+}
@@ -0,0 +1,41 @@
+package org.sidiff.common.emf.metrics;
+
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+
+/**
+ * A metric for resources whose value is computed from the elements of the resource,
+ * one element at a time. This allows {@link MetricsFacade#recomputeAll} to compute
+ * all such metrics of a resource in a single traversal of its contents, instead of
+ * traversing the contents once per metric. The {@link #getContextType() context type}
+ * of these metrics must be {@link Resource}.
+ */
+public interface IResourceTraversalMetric extends IMetric {
+
+	/**
+	 * Creates a new visitor which computes the value of this metric for the given resource.
+	 * @param context the resource
+	 * @return new element visitor
+	 */
+	IElementVisitor createVisitor(Resource context);
+
+	/**
+	 * A visitor is called for all proper contents of a resource, in the order
+	 * of {@link org.eclipse.emf.ecore.util.EcoreUtil#getAllProperContents(Resource, boolean)},
+	 * and provides the value of the metric afterwards.
+	 */
+	interface IElementVisitor {
+
+		/**
+		 * Visits an element of the resource.
+		 * @param element the element
+		 */
+		void visit(EObject element);
+
+		/**
+		 * Called when all elements have been visited, to pass the resulting value/s to the acceptor.
+		 * @param acceptor an acceptor for the resulting metric value/s
+		 */
+		void finish(IMetricValueAcceptor acceptor);
+	}
+}
@@ -8,9 +8,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.common.notify.Notifier;
 
 /**
@@ -46,6 +48,7 @@ public class MetricHandle {
 	private final IMetric metric;
 	private final Notifier context;
 	private final Map<Set<Object>,List<Object>> cachedValues;
+	private boolean dirty;
 
 	MetricHandle(IMetric metric, Notifier context) {
 		Assert.isLegal(metric.getContextType().isInstance(context), "Type of metric is incompatible with context");
@@ -98,6 +101,7 @@ public class MetricHandle {
 	public void clearCache() {
 		cachedValues.clear();
 		cachedValues.put(Collections.emptySet(), Collections.singletonList(NOT_COMPUTED));
+		dirty = false;
 	}
 
 	/**
@@ -105,19 +109,130 @@ public class MetricHandle {
 	 * @param monitor a monitor for progress reporting
 	 */
 	public void recompute(IProgressMonitor monitor) {
+		recompute(acceptor -> metric.calculate(context, acceptor, monitor));
+	}
+
+	/**
+	 * Replaces the cached values with the values passed to the acceptor by the given calculation.
+	 * @param calculation the calculation of the metric's value for the context
+	 */
+	void recompute(Consumer<IMetricValueAcceptor> calculation) {
 		Map<Set<Object>,List<Object>> values = new HashMap<>();
-		metric.calculate(context, (keys, value) -> {
+		calculation.accept((keys, value) -> {
 			if(value != null && keys != null) {
 				values.computeIfAbsent(keys, unused -> new ArrayList<>()).add(value); 
 			}
-		}, monitor);
+		});
 
+		setValues(values);
+	}
+
+	private void setValues(Map<Set<Object>,List<Object>> values) {
 		cachedValues.clear();
 		if(values.isEmpty()) {
 			cachedValues.put(Collections.emptySet(), Collections.singletonList(NOT_APPLICABLE));
 		} else {
 			cachedValues.putAll(values);
 		}
+		dirty = false;
+	}
+
+	/**
+	 * Updates the cached values after the given change of the context or its contents.
+	 * If the metric is {@link IIncrementalMetric incremental}, the delta of the change is
+	 * applied to the values, otherwise the handle is marked as {@link #isDirty() dirty}.
+	 * Handles which are not computed or already dirty are not changed.
+	 * @param notification the notification of the change
+	 * @return <code>true</code> if the values or the dirty state have changed, <code>false</code> otherwise
+	 * @see MetricsChangeTracker
+	 */
+	boolean handleChange(Notification notification) {
+		if(dirty || isNotComputed()) {
+			return false;
+		}
+		if(metric instanceof IIncrementalMetric) {
+			Map<Set<Object>,List<Object>> deltas = new HashMap<>();
+			if(((IIncrementalMetric)metric).calculateDelta(context, notification, (keys, value) -> {
+				if(value != null && keys != null) {
+					deltas.computeIfAbsent(keys, unused -> new ArrayList<>()).add(value);
+				}
+			})) {
+				if(deltas.isEmpty()) {
+					return false;
+				}
+				if(applyDeltas(deltas)) {
+					return true;
+				}
+			}
+		}
+		dirty = true;
+		return true;
+	}
+
+	/**
+	 * Marks the cached values as {@link #isDirty() dirty}, unless the handle is not computed.
+	 * @return <code>true</code> if the dirty state has changed, <code>false</code> otherwise
+	 * @see MetricsChangeTracker#resume()
+	 */
+	boolean markDirty() {
+		if(dirty || isNotComputed()) {
+			return false;
+		}
+		dirty = true;
+		return true;
+	}
+
+	private boolean applyDeltas(Map<Set<Object>,List<Object>> deltas) {
+		Map<Set<Object>,List<Object>> values = new HashMap<>();
+		if(!isNotApplicable()) {
+			values.putAll(cachedValues);
+		}
+		for(Map.Entry<Set<Object>,List<Object>> delta : deltas.entrySet()) {
+			List<Object> oldValues = values.get(delta.getKey());
+			Number value = 0;
+			if(oldValues != null) {
+				if(oldValues.size() != 1 || !(oldValues.get(0) instanceof Number)) {
+					return false;
+				}
+				value = (Number)oldValues.get(0);
+			}
+			for(Object deltaValue : delta.getValue()) {
+				if(!(deltaValue instanceof Number)) {
+					return false;
+				}
+				value = add(value, (Number)deltaValue);
+			}
+			if(value.doubleValue() == 0 && !delta.getKey().isEmpty()) {
+				// Like a recomputation, which does not report categories without elements
+				values.remove(delta.getKey());
+			} else {
+				List<Object> newValues = new ArrayList<>(1);
+				newValues.add(value);
+				values.put(delta.getKey(), newValues);
+			}
+		}
+		setValues(values);
+		return true;
+	}
+
+	private static Number add(Number a, Number b) {
+		if(a instanceof Integer && b instanceof Integer) {
+			return a.intValue() + b.intValue();
+		} else if((a instanceof Integer || a instanceof Long) && (b instanceof Integer || b instanceof Long)) {
+			return a.longValue() + b.longValue();
+		}
+		return a.doubleValue() + b.doubleValue();
+	}
+
+	/**
+	 * Returns whether the cached values are outdated, because the context has changed
+	 * since they were computed and the change could not be applied incrementally.
+	 * Dirty handles are only updated by recomputing them.
+	 * @return <code>true</code> if the values are outdated, <code>false</code> otherwise
+	 * @see MetricsChangeTracker
+	 */
+	public boolean isDirty() {
+		return dirty;
 	}
 
 	public boolean isNotComputed() {
@@ -174,6 +289,7 @@ public class MetricHandle {
 		MetricHandle copy = new MetricHandle(metric, context);
 		copy.cachedValues.clear();
 		copy.cachedValues.putAll(cachedValues);
+		copy.dirty = dirty;
 		return copy;
 	}
 
@@ -0,0 +1,81 @@
+package org.sidiff.common.emf.metrics;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.sidiff.common.collections.Pair;
+
+/**
+ * An index of metric handles by metric key and context, which finds the same matches
+ * as {@link MetricsList#findMatching(MetricHandle)} with hash lookups. Like the linear
+ * search, the index prefers the first handle of the indexed collection if multiple
+ * handles match equally well.
+ */
+class MetricHandleIndex {
+
+	private final Set<MetricHandle> handles = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	// Indices by metric key and URI, file name or URI fragment of the context
+	private final Map<Pair<String,URI>,MetricHandle> resourcesByUri = new HashMap<>();
+	private final Map<Pair<String,String>,MetricHandle> resourcesByFileName = new HashMap<>();
+	private final Map<Pair<String,String>,MetricHandle> eObjectsByFragment = new HashMap<>();
+
+	// First handle by metric key
+	private final Map<String,MetricHandle> resources = new HashMap<>();
+	private final Map<String,MetricHandle> resourceSets = new HashMap<>();
+
+	MetricHandleIndex(Collection<? extends MetricHandle> handles) {
+		for(MetricHandle handle : handles) {
+			this.handles.add(handle);
+			String key = handle.getMetric().getKey();
+			Notifier context = handle.getContext();
+			if(context instanceof Resource) {
+				URI uri = ((Resource)context).getURI();
+				resourcesByUri.putIfAbsent(Pair.of(key, uri), handle);
+				if(uri != null) {
+					resourcesByFileName.putIfAbsent(Pair.of(key, uri.lastSegment()), handle);
+				}
+				resources.putIfAbsent(key, handle);
+			} else if(context instanceof ResourceSet) {
+				resourceSets.putIfAbsent(key, handle);
+			} else if(context instanceof EObject) {
+				eObjectsByFragment.putIfAbsent(Pair.of(key, EcoreUtil.getURI((EObject)context).fragment()), handle);
+			}
+		}
+	}
+
+	Optional<MetricHandle> findMatching(MetricHandle needle) {
+		if(handles.contains(needle)) {
+			return Optional.of(needle);
+		}
+		String key = needle.getMetric().getKey();
+		Notifier context = needle.getContext();
+		if(context instanceof Resource) {
+			URI uri = ((Resource)context).getURI();
+			MetricHandle match = resourcesByUri.get(Pair.of(key, uri));
+			if(match == null) {
+				match = resourcesByFileName.get(Pair.of(key, uri.lastSegment()));
+			}
+			if(match == null) {
+				match = resources.get(key);
+			}
+			return Optional.ofNullable(match);
+		} else if(context instanceof ResourceSet) {
+			return Optional.ofNullable(resourceSets.get(key));
+		} else if(context instanceof EObject) {
+			return Optional.ofNullable(eObjectsByFragment.get(Pair.of(key, EcoreUtil.getURI((EObject)context).fragment())));
+		}
+		throw new AssertionError();
+	}
+}
@@ -0,0 +1,191 @@
+package org.sidiff.common.emf.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+
+/**
+ * <p>A change tracker keeps the values of {@link MetricHandle}s up to date while their
+ * contexts are edited. When started, it registers a content adapter on the outermost contexts
+ * of the handles. Every change is only passed to the handles whose context contains the changed
+ * notifier: the values of {@link IIncrementalMetric incremental metrics} are updated with the delta
+ * of the change, all other handles are marked as {@link MetricHandle#isDirty() dirty}.
+ * Handles which have not been computed are ignored.</p>
+ * <p>The tracker is not thread-safe. It must be used on the thread which edits the contexts,
+ * and it must be {@link #pause() paused} while the handles are recomputed by another thread.</p>
+ */
+public class MetricsChangeTracker {
+
+	private final Map<Notifier,List<MetricHandle>> handlesByContext = new IdentityHashMap<>();
+	private final List<Notifier> roots = new ArrayList<>();
+	private final List<Consumer<Set<MetricHandle>>> listeners = new CopyOnWriteArrayList<>();
+
+	private final EContentAdapter adapter = new EContentAdapter() {
+		@Override
+		public void notifyChanged(Notification notification) {
+			super.notifyChanged(notification);
+			handleNotification(notification);
+		}
+	};
+
+	private boolean started;
+	private boolean paused;
+	private final Set<MetricHandle> changedWhilePaused = new LinkedHashSet<>();
+
+	/**
+	 * Creates a change tracker for the given handles.
+	 * @param handles the handles to keep up to date
+	 */
+	public MetricsChangeTracker(Collection<? extends MetricHandle> handles) {
+		for(MetricHandle handle : handles) {
+			handlesByContext.computeIfAbsent(handle.getContext(), unused -> new ArrayList<>()).add(handle);
+		}
+		for(Notifier context : handlesByContext.keySet()) {
+			// Contexts which are contained in other contexts are covered by their adapters
+			List<Notifier> scopes = getEnclosingScopes(context);
+			if(scopes.subList(1, scopes.size()).stream().noneMatch(handlesByContext::containsKey)) {
+				roots.add(context);
+			}
+		}
+	}
+
+	/**
+	 * Starts tracking the changes of the contexts.
+	 */
+	public void start() {
+		if(!started) {
+			started = true;
+			for(Notifier root : roots) {
+				root.eAdapters().add(adapter);
+			}
+		}
+	}
+
+	/**
+	 * Stops tracking the changes of the contexts, and removes the adapters.
+	 */
+	public void stop() {
+		if(started) {
+			started = false;
+			for(Notifier root : roots) {
+				root.eAdapters().remove(adapter);
+			}
+		}
+	}
+
+	public boolean isStarted() {
+		return started;
+	}
+
+	/**
+	 * Pauses the updates of the handles, e.g. while they are recomputed by another thread.
+	 * While paused, the handles whose contexts are changed are only recorded.
+	 */
+	public void pause() {
+		paused = true;
+	}
+
+	/**
+	 * Resumes the updates of the handles. The handles whose contexts have been changed
+	 * while the tracker was paused are marked as dirty, because their values may have
+	 * been computed before or after the change.
+	 */
+	public void resume() {
+		if(paused) {
+			paused = false;
+			Set<MetricHandle> changed = new LinkedHashSet<>();
+			for(MetricHandle handle : changedWhilePaused) {
+				if(handle.markDirty()) {
+					changed.add(handle);
+				}
+			}
+			changedWhilePaused.clear();
+			fireValuesChanged(changed);
+		}
+	}
+
+	public boolean isPaused() {
+		return paused;
+	}
+
+	/**
+	 * Adds a listener which is notified about the handles whose values or dirty state
+	 * have changed. The listener is called by the thread which changed the context.
+	 * @param listener the listener
+	 */
+	public void addListener(Consumer<Set<MetricHandle>> listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(Consumer<Set<MetricHandle>> listener) {
+		listeners.remove(listener);
+	}
+
+	private void handleNotification(Notification notification) {
+		if(notification.isTouch() || notification.getEventType() == Notification.REMOVING_ADAPTER) {
+			return;
+		}
+		Set<MetricHandle> changed = new LinkedHashSet<>();
+		for(Notifier scope : getEnclosingScopes(notification.getNotifier())) {
+			for(MetricHandle handle : handlesByContext.getOrDefault(scope, Collections.emptyList())) {
+				if(paused) {
+					changedWhilePaused.add(handle);
+				} else if(handle.handleChange(notification)) {
+					changed.add(handle);
+				}
+			}
+		}
+		fireValuesChanged(changed);
+	}
+
+	private void fireValuesChanged(Set<MetricHandle> changed) {
+		if(!changed.isEmpty()) {
+			Set<MetricHandle> unmodifiableChanged = Collections.unmodifiableSet(changed);
+			for(Consumer<Set<MetricHandle>> listener : listeners) {
+				listener.accept(unmodifiableChanged);
+			}
+		}
+	}
+
+	/**
+	 * Returns the given notifier, followed by the notifiers that contain it:
+	 * the containers of an object, followed by its resource and resource set,
+	 * or the resource set of a resource.
+	 */
+	private static List<Notifier> getEnclosingScopes(Object notifier) {
+		List<Notifier> scopes = new ArrayList<>();
+		Resource resource = null;
+		if(notifier instanceof EObject) {
+			EObject eObject = (EObject)notifier;
+			resource = eObject.eResource();
+			for(EObject container = eObject; container != null; container = container.eContainer()) {
+				scopes.add(container);
+			}
+		} else if(notifier instanceof Resource) {
+			resource = (Resource)notifier;
+		} else if(notifier instanceof ResourceSet) {
+			scopes.add((ResourceSet)notifier);
+		}
+		if(resource != null) {
+			scopes.add(resource);
+			if(resource.getResourceSet() != null) {
+				scopes.add(resource.getResourceSet());
+			}
+		}
+		return scopes;
+	}
+}
@@ -1,10 +1,22 @@
 package org.sidiff.common.emf.metrics;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.sidiff.common.collections.Pair;
+import org.sidiff.common.emf.metrics.IResourceTraversalMetric.IElementVisitor;
 
 /**
  * Provides high level access to the {@link IMetric} extension,
@@ -28,6 +40,46 @@ public class MetricsFacade {
 			.collect(Collectors.toCollection(MetricsList::new));
 	}
 
+	/**
+	 * Recomputes the given handles. The handles of all {@link IResourceTraversalMetric}s
+	 * with the same resource are computed together in a single traversal of the resource.
+	 * All other handles are {@link MetricHandle#recompute recomputed} individually.
+	 * @param handles the handles to recompute
+	 * @param monitor a progress monitor
+	 */
+	public static void recomputeAll(Collection<? extends MetricHandle> handles, IProgressMonitor monitor) {
+		SubMonitor progress = SubMonitor.convert(monitor, handles.size());
+		Map<Resource,List<MetricHandle>> traversals = new LinkedHashMap<>();
+		for(MetricHandle handle : handles) {
+			if(handle.getMetric() instanceof IResourceTraversalMetric) {
+				traversals.computeIfAbsent((Resource)handle.getContext(), unused -> new ArrayList<>()).add(handle);
+			} else {
+				handle.recompute(progress.split(1));
+			}
+		}
+		for(Map.Entry<Resource,List<MetricHandle>> traversal : traversals.entrySet()) {
+			progress.checkCanceled();
+			recomputeTraversal(traversal.getKey(), traversal.getValue());
+			progress.worked(traversal.getValue().size());
+		}
+	}
+
+	private static void recomputeTraversal(Resource resource, List<MetricHandle> handles) {
+		IElementVisitor[] visitors = new IElementVisitor[handles.size()];
+		for(int i = 0; i < visitors.length; i++) {
+			visitors[i] = ((IResourceTraversalMetric)handles.get(i).getMetric()).createVisitor(resource);
+		}
+		for(TreeIterator<EObject> iterator = EcoreUtil.getAllProperContents(resource, true); iterator.hasNext(); ) {
+			EObject element = iterator.next();
+			for(IElementVisitor visitor : visitors) {
+				visitor.visit(element);
+			}
+		}
+		for(int i = 0; i < visitors.length; i++) {
+			handles.get(i).recompute(visitors[i]::finish);
+		}
+	}
+
 	/**
 	 * Calculates a difference between two {@link MetricsList}s and returns a {@link MetricsListDifference},
 	 * which contains {@link MetricHandleDifference}s for each matched {@link MetricHandle} in the two lists.
@@ -36,14 +88,10 @@ public class MetricsFacade {
 	 * @return list of individual differences handles, which can be used to compute the difference values
 	 */
 	public static MetricsListDifference calculateDifference(MetricsList origin, MetricsList changed) {
-		// Create matching between the two lists
-		Set<Pair<MetricHandle,MetricHandle>> correspondences = new HashSet<>();
-		for(MetricHandle originHandle : origin) {
-			changed.findMatching(originHandle).ifPresent(match -> correspondences.add(Pair.of(originHandle, match)));
-		}
-		for(MetricHandle changedHandle : changed) {
-			origin.findMatching(changedHandle).ifPresent(match -> correspondences.add(Pair.of(match, changedHandle)));
-		}
+		// Create matching between the two lists, using an index of each list
+		Set<Pair<MetricHandle,MetricHandle>> correspondences = new LinkedHashSet<>();
+		changed.findMatching(origin).forEach((originHandle, match) -> correspondences.add(Pair.of(originHandle, match)));
+		origin.findMatching(changed).forEach((changedHandle, match) -> correspondences.add(Pair.of(match, changedHandle)));
 
 		// Remove incomparable correspondence
 		correspondences.removeIf(correspondence -> correspondence.getFirst() == null || correspondence.getSecond() == null
@@ -2,13 +2,14 @@ package org.sidiff.common.emf.metrics;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.emf.common.notify.Notifier;
 import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.EObject;
@@ -74,10 +75,29 @@ public class MetricsList extends ArrayList<MetricHandle> {
 	/**
 	 * Recomputes the values of all metrics of in this list.
 	 * @param monitor a progress monitor
+	 * @see MetricsFacade#recomputeAll(Collection, IProgressMonitor)
 	 */
 	public void recomputeAll(IProgressMonitor monitor) {
-		SubMonitor progress = SubMonitor.convert(monitor, size());
-		forEach(handle -> handle.recompute(progress.split(1)));
+		MetricsFacade.recomputeAll(this, monitor);
+	}
+
+	/**
+	 * Recomputes the values of all metrics of in this list in parallel.
+	 * @param monitor a progress monitor
+	 * @param pool the pool to compute the metrics in, <code>null</code> to compute them sequentially
+	 * @see MetricsRecomputation#recomputeAll(Collection, ForkJoinPool, IProgressMonitor)
+	 */
+	public void recomputeAll(IProgressMonitor monitor, ForkJoinPool pool) {
+		MetricsRecomputation.recomputeAll(this, pool, monitor);
+	}
+
+	/**
+	 * Creates a change tracker which keeps the values of the metrics in this list up to date
+	 * while their contexts are edited. The tracker must be {@link MetricsChangeTracker#start() started}.
+	 * @return new change tracker for the metrics in this list
+	 */
+	public MetricsChangeTracker createChangeTracker() {
+		return new MetricsChangeTracker(this);
 	}
 
 	/**
@@ -87,8 +107,26 @@ public class MetricsList extends ArrayList<MetricHandle> {
 		removeIf(MetricHandle::isIrrelevant);
 	}
 
+	/**
+	 * Finds the metric handles in this list which match the given handles in metric and context,
+	 * like {@link #findMatching(MetricHandle)}. This list is indexed once, so that each handle
+	 * is matched in constant time.
+	 * @param needles the metrics to find
+	 * @return map of the given handles to the matching handles in this list,
+	 * in the order of the given handles, which have no entry if there is no match
+	 */
+	public Map<MetricHandle,MetricHandle> findMatching(Collection<? extends MetricHandle> needles) {
+		MetricHandleIndex index = new MetricHandleIndex(this);
+		Map<MetricHandle,MetricHandle> matches = new LinkedHashMap<>();
+		for(MetricHandle needle : needles) {
+			index.findMatching(needle).ifPresent(match -> matches.put(needle, match));
+		}
+		return matches;
+	}
+
 	/**
 	 * Finds a metric handle in this list which matches the given handle in metric and context.
+	 * To find the matches of multiple handles, use {@link #findMatching(Collection)}.
 	 * @param needle the metric to find
 	 * @return matching handle in this list, empty if none
 	 */
@@ -0,0 +1,147 @@
+package org.sidiff.common.emf.metrics;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+
+/**
+ * Recomputes {@link MetricHandle}s, either sequentially or in parallel on a {@link ForkJoinPool}.
+ */
+public final class MetricsRecomputation {
+
+	/**
+	 * Interval in which the progress monitor is checked for cancellation.
+	 */
+	private static final long CANCEL_CHECK_MILLIS = 100;
+
+	private MetricsRecomputation() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * <p>Recomputes the given handles. If a pool is given, the handles are recomputed in parallel,
+	 * one task per handle, and each handle stores its own value. The metrics share the model, which
+	 * is not thread-safe, and resolving a proxy modifies it: the proxy is replaced in its list, a
+	 * notification is sent, and resources may be loaded into the resource set. Therefore all proxies
+	 * of the resource sets of the contexts are resolved by the calling thread before the tasks are
+	 * submitted, so that the metrics only read the model.</p>
+	 * <p>The progress is reported per recomputed handle by the calling thread, which must not be a
+	 * thread of the pool. If the monitor is canceled, the handles which have not been started are not
+	 * recomputed, and an {@link OperationCanceledException} is thrown when the running computations,
+	 * which see a canceled monitor, have finished. If computations fail, the exception of the
+	 * first failed handle of the collection is rethrown when all computations have finished.</p>
+	 * @param handles the handles to recompute
+	 * @param pool the pool to compute the handles in, <code>null</code> to compute them sequentially
+	 * @param monitor a progress monitor
+	 */
+	public static void recomputeAll(Collection<? extends MetricHandle> handles, ForkJoinPool pool, IProgressMonitor monitor) {
+		SubMonitor progress = SubMonitor.convert(monitor, handles.size());
+		if(pool == null) {
+			for(MetricHandle handle : handles) {
+				handle.recompute(progress.split(1));
+			}
+			return;
+		}
+
+		resolveProxies(handles);
+
+		// The monitors of the handles are only used to forward the cancellation
+		IProgressMonitor handleMonitor = new NullProgressMonitor();
+		BlockingQueue<MetricHandle> finished = new LinkedBlockingQueue<>();
+		List<ForkJoinTask<?>> tasks = new ArrayList<>(handles.size());
+		for(MetricHandle handle : handles) {
+			tasks.add(pool.submit(() -> {
+				try {
+					if(!handleMonitor.isCanceled()) {
+						handle.recompute(handleMonitor);
+					}
+				} finally {
+					finished.add(handle);
+				}
+			}));
+		}
+
+		boolean interrupted = false;
+		for(int remaining = tasks.size(); remaining > 0; ) {
+			if(progress.isCanceled()) {
+				handleMonitor.setCanceled(true);
+			}
+			try {
+				MetricHandle handle = finished.poll(CANCEL_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+				if(handle != null) {
+					remaining--;
+					progress.subTask(handle.getMetric().getName() + " : " + handle.getContextLabel());
+					progress.worked(1);
+				}
+			} catch (InterruptedException e) {
+				interrupted = true;
+				handleMonitor.setCanceled(true);
+			}
+		}
+		if(interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		if(handleMonitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+		for(ForkJoinTask<?> task : tasks) {
+			if(task.isCompletedAbnormally()) {
+				// Rethrows the exception of the task
+				task.join();
+			}
+		}
+	}
+
+	/**
+	 * Resolves all proxies which the metrics can reach from the contexts of the handles,
+	 * i.e. the proxies of the resource sets of the contexts, or of the resources or the
+	 * containment trees of contexts which are not contained in a resource set.
+	 */
+	private static void resolveProxies(Collection<? extends MetricHandle> handles) {
+		Set<Notifier> scopes = Collections.newSetFromMap(new IdentityHashMap<>());
+		for(MetricHandle handle : handles) {
+			Notifier scope = getScope(handle.getContext());
+			if(scopes.add(scope)) {
+				if(scope instanceof ResourceSet) {
+					EcoreUtil.resolveAll((ResourceSet)scope);
+				} else if(scope instanceof Resource) {
+					EcoreUtil.resolveAll((Resource)scope);
+				} else if(scope instanceof EObject) {
+					EcoreUtil.resolveAll((EObject)scope);
+				}
+			}
+		}
+	}
+
+	private static Notifier getScope(Notifier context) {
+		if(context instanceof EObject) {
+			Resource resource = ((EObject)context).eResource();
+			if(resource == null) {
+				return EcoreUtil.getRootContainer((EObject)context);
+			}
+			context = resource;
+		}
+		if(context instanceof Resource && ((Resource)context).getResourceSet() != null) {
+			return ((Resource)context).getResourceSet();
+		}
+		return context;
+	}
+}
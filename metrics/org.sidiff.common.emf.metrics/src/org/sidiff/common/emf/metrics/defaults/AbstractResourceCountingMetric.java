@@ -0,0 +1,140 @@
+package org.sidiff.common.emf.metrics.defaults;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.sidiff.common.emf.metrics.IIncrementalMetric;
+import org.sidiff.common.emf.metrics.IMetricValueAcceptor;
+
+/**
+ * <p>An abstract metric class for resources which counts elements, i.e. whose values
+ * are sums over the visited elements of the resource. The visitors should pass
+ * the counts as {@link Long} values to the acceptor; {@link Integer}, {@link Double} and
+ * {@link Float} counts are supported as well.</p>
+ * <p>The metric is {@link IIncrementalMetric incremental}: when elements are added to or
+ * removed from the resource, only the added or removed elements are visited, and their
+ * counts are added to or subtracted from the current values. If other values are passed
+ * to the acceptor, the change is not applied incrementally.</p>
+ */
+public abstract class AbstractResourceCountingMetric extends AbstractResourceTraversalMetric implements IIncrementalMetric {
+
+	@Override
+	public boolean calculateDelta(Notifier context, Notification notification, IMetricValueAcceptor acceptor) {
+		Resource resource = (Resource)context;
+		Object notifier = notification.getNotifier();
+		if(notifier == resource) {
+			int featureId = notification.getFeatureID(Resource.class);
+			if(featureId == Resource.RESOURCE__IS_LOADED) {
+				// Loading and unloading replace the contents without notifying about the elements
+				return false;
+			} else if(featureId != Resource.RESOURCE__CONTENTS) {
+				return true;
+			}
+		} else if(!(notification.getFeature() instanceof EReference)
+				|| !((EReference)notification.getFeature()).isContainment()) {
+			return true;
+		}
+
+		List<EObject> added = new ArrayList<>();
+		List<EObject> removed = new ArrayList<>();
+		switch(notification.getEventType()) {
+			case Notification.ADD:
+			case Notification.ADD_MANY:
+				collectElements(notification.getNewValue(), added);
+				break;
+			case Notification.REMOVE:
+			case Notification.REMOVE_MANY:
+				collectElements(notification.getOldValue(), removed);
+				break;
+			case Notification.SET:
+			case Notification.UNSET:
+				collectElements(notification.getNewValue(), added);
+				collectElements(notification.getOldValue(), removed);
+				break;
+			case Notification.MOVE:
+			case Notification.REMOVING_ADAPTER:
+				return true;
+			default:
+				// Resolving containment proxies changes the elements without adding or removing any
+				return false;
+		}
+		if(notifier != resource) {
+			// Elements that are contained in other resources are no proper contents of this resource
+			for(EObject element : added) {
+				if(element.eIsProxy() || ((InternalEObject)element).eDirectResource() != null) {
+					return false;
+				}
+			}
+			for(EObject element : removed) {
+				if(element.eIsProxy() || ((InternalEObject)element).eDirectResource() != null) {
+					return false;
+				}
+			}
+		}
+
+		if(!added.isEmpty()) {
+			visitAll(resource, added).finish(acceptor);
+		}
+		if(!removed.isEmpty()) {
+			boolean[] negated = { true };
+			visitAll(resource, removed).finish((keys, value) -> {
+				Number negatedValue = negate(value);
+				if(negatedValue != null) {
+					acceptor.accept(keys, negatedValue);
+				} else if(value != null) {
+					negated[0] = false;
+				}
+			});
+			return negated[0];
+		}
+		return true;
+	}
+
+	private IElementVisitor visitAll(Resource context, Collection<EObject> elements) {
+		IElementVisitor visitor = createVisitor(context);
+		for(EObject element : elements) {
+			visitor.visit(element);
+			for(TreeIterator<EObject> iterator = EcoreUtil.getAllProperContents(element, true); iterator.hasNext(); ) {
+				visitor.visit(iterator.next());
+			}
+		}
+		return visitor;
+	}
+
+	private static void collectElements(Object value, List<EObject> elements) {
+		if(value instanceof EObject) {
+			elements.add((EObject)value);
+		} else if(value instanceof Collection<?>) {
+			for(Object element : (Collection<?>)value) {
+				if(element instanceof EObject) {
+					elements.add((EObject)element);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the negated count, keeping its type, or <code>null</code> if the value cannot be negated.
+	 */
+	private static Number negate(Object value) {
+		if(value instanceof Long) {
+			return -(Long)value;
+		} else if(value instanceof Integer) {
+			return -(Integer)value;
+		} else if(value instanceof Double) {
+			return -(Double)value;
+		} else if(value instanceof Float) {
+			return -(Float)value;
+		}
+		return null;
+	}
+}
@@ -0,0 +1,26 @@
+package org.sidiff.common.emf.metrics.defaults;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.sidiff.common.emf.metrics.IMetricValueAcceptor;
+import org.sidiff.common.emf.metrics.IResourceTraversalMetric;
+
+/**
+ * An abstract metric class which computes a value for resources by visiting
+ * their elements, see {@link IResourceTraversalMetric}. Computing the metric
+ * on its own traverses the resource for this metric only.
+ */
+public abstract class AbstractResourceTraversalMetric extends AbstractResourceMetric implements IResourceTraversalMetric {
+
+	@Override
+	protected void doCalculate(Resource context, IMetricValueAcceptor acceptor, IProgressMonitor monitor) {
+		IElementVisitor visitor = createVisitor(context);
+		for(TreeIterator<EObject> iterator = EcoreUtil.getAllProperContents(context, true); iterator.hasNext(); ) {
+			visitor.visit(iterator.next());
+		}
+		visitor.finish(acceptor);
+	}
+}
@@ -1,19 +1,28 @@
 package org.sidiff.common.emf.metrics.defaults;
 
-import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
-import org.eclipse.emf.ecore.util.EcoreUtil;
-import org.sidiff.common.collections.CollectionUtil;
 import org.sidiff.common.emf.metrics.IMetricValueAcceptor;
 
 /**
  * @author cpietsch
  */
-public class ElementCountingMetric extends AbstractResourceMetric {
+public class ElementCountingMetric extends AbstractResourceCountingMetric {
 
 	@Override
-	protected void doCalculate(Resource context, IMetricValueAcceptor acceptor, IProgressMonitor monitor) {
-		acceptor.accept(
-			CollectionUtil.asStream(EcoreUtil.getAllProperContents(context, true)).count());
+	public IElementVisitor createVisitor(Resource context) {
+		return new IElementVisitor() {
+			private long count = 0;
+
+			@Override
+			public void visit(EObject element) {
+				count++;
+			}
+
+			@Override
+			public void finish(IMetricValueAcceptor acceptor) {
+				acceptor.accept(count);
+			}
+		};
 	}
 }
@@ -2,11 +2,9 @@ package org.sidiff.common.emf.metrics.defaults;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
-import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
-import org.eclipse.emf.ecore.util.EcoreUtil;
-import org.sidiff.common.collections.CollectionUtil;
 import org.sidiff.common.emf.metrics.IMetricValueAcceptor;
 import org.sidiff.common.exceptions.ExceptionUtil;
 
@@ -19,7 +17,7 @@ import org.sidiff.common.exceptions.ExceptionUtil;
  * <pre>org.sidiff.common.emf.metrics.defaults.TypeCountingMetric:org.eclipse.emf.ecore.EClass</pre>
  * @author rmueller
  */
-public class TypeCountingMetric extends AbstractResourceMetric {
+public class TypeCountingMetric extends AbstractResourceCountingMetric {
 
 	private Class<?> countedType;
 
@@ -38,9 +36,21 @@ public class TypeCountingMetric extends AbstractResourceMetric {
 	}
 
 	@Override
-	protected void doCalculate(Resource context, IMetricValueAcceptor acceptor, IProgressMonitor monitor) {
-		acceptor.accept(
-			CollectionUtil.asStream(EcoreUtil.getAllProperContents(context, true))
-				.filter(countedType::isInstance).count());
+	public IElementVisitor createVisitor(Resource context) {
+		return new IElementVisitor() {
+			private long count = 0;
+
+			@Override
+			public void visit(EObject element) {
+				if(countedType.isInstance(element)) {
+					count++;
+				}
+			}
+
+			@Override
+			public void finish(IMetricValueAcceptor acceptor) {
+				acceptor.accept(count);
+			}
+		};
 	}
 }
@@ -1,17 +1,47 @@
 package org.sidiff.common.emf.metrics.defaults.impl;
 
+import java.util.Collection;
+
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
 import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.sidiff.common.emf.metrics.IIncrementalMetric;
 import org.sidiff.common.emf.metrics.IMetricValueAcceptor;
 import org.sidiff.common.emf.metrics.defaults.AbstractResourceSetMetric;
 
 /**
  * @author rmueller
  */
-public class NumberOfResources extends AbstractResourceSetMetric {
+public class NumberOfResources extends AbstractResourceSetMetric implements IIncrementalMetric {
 
 	@Override
 	protected void doCalculate(ResourceSet context, IMetricValueAcceptor acceptor, IProgressMonitor monitor) {
 		acceptor.accept(context.getResources().size());
 	}
+
+	@Override
+	public boolean calculateDelta(Notifier context, Notification notification, IMetricValueAcceptor acceptor) {
+		if(notification.getNotifier() != context
+				|| notification.getFeatureID(ResourceSet.class) != ResourceSet.RESOURCE_SET__RESOURCES) {
+			return true;
+		}
+		switch(notification.getEventType()) {
+			case Notification.ADD:
+				acceptor.accept(1);
+				break;
+			case Notification.ADD_MANY:
+				acceptor.accept(((Collection<?>)notification.getNewValue()).size());
+				break;
+			case Notification.REMOVE:
+				acceptor.accept(-1);
+				break;
+			case Notification.REMOVE_MANY:
+				acceptor.accept(-((Collection<?>)notification.getOldValue()).size());
+				break;
+			default:
+				break;
+		}
+		return true;
+	}
 }
@@ -1,25 +1,34 @@
 package org.sidiff.common.emf.metrics.defaults.impl;
 
 import java.util.Collections;
-import java.util.stream.Collectors;
+import java.util.HashMap;
+import java.util.Map;
 
-import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.resource.Resource;
-import org.eclipse.emf.ecore.util.EcoreUtil;
-import org.sidiff.common.collections.CollectionUtil;
 import org.sidiff.common.emf.metrics.IMetricValueAcceptor;
-import org.sidiff.common.emf.metrics.defaults.AbstractResourceMetric;
+import org.sidiff.common.emf.metrics.defaults.AbstractResourceCountingMetric;
 
 /**
  * @author rmueller
  */
-public class TypeCounting extends AbstractResourceMetric {
+public class TypeCounting extends AbstractResourceCountingMetric {
 
 	@Override
-	protected void doCalculate(Resource context, IMetricValueAcceptor acceptor, IProgressMonitor monitor) {
-		CollectionUtil.asStream(EcoreUtil.<EObject>getAllProperContents(context, true))
-			.collect(Collectors.groupingBy(EObject::eClass, Collectors.counting()))
-			.entrySet().stream().forEach(entry -> acceptor.accept(Collections.singleton(entry.getKey()), entry.getValue()));
+	public IElementVisitor createVisitor(Resource context) {
+		return new IElementVisitor() {
+			private final Map<EClass,long[]> counts = new HashMap<>();
+
+			@Override
+			public void visit(EObject element) {
+				counts.computeIfAbsent(element.eClass(), unused -> new long[1])[0]++;
+			}
+
+			@Override
+			public void finish(IMetricValueAcceptor acceptor) {
+				counts.forEach((eClass, count) -> acceptor.accept(Collections.singleton(eClass), count[0]));
+			}
+		};
 	}
 }
@@ -2,13 +2,14 @@ package org.sidiff.common.emf.metrics.jobs;
 
 import java.util.Collection;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
-import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.Job;
 import org.sidiff.common.emf.metrics.MetricHandle;
+import org.sidiff.common.emf.metrics.MetricsRecomputation;
 
 /**
  * A job which recomputes specific {@link MetricHandle}s and calls a callback on finish.
@@ -17,20 +18,29 @@ import org.sidiff.common.emf.metrics.MetricHandle;
 public class RecomputeMetricsJob extends Job {
 
 	private final Collection<? extends MetricHandle> handles;
+	private final ForkJoinPool pool;
 	private final Runnable doneCallback;
 
 	public RecomputeMetricsJob(Collection<? extends MetricHandle> handles, Runnable doneCallback) {
+		this(handles, null, doneCallback);
+	}
+
+	/**
+	 * Creates a job which recomputes the handles in parallel.
+	 * @param handles the handles to recompute
+	 * @param pool the pool to compute the handles in, <code>null</code> to compute them sequentially
+	 * @param doneCallback the callback to call on finish
+	 */
+	public RecomputeMetricsJob(Collection<? extends MetricHandle> handles, ForkJoinPool pool, Runnable doneCallback) {
 		super("Recomputing " + handles.size() + " metrics");
 		this.handles = handles;
+		this.pool = pool;
 		this.doneCallback = Objects.requireNonNull(doneCallback);
 	}
 
 	@Override
 	protected IStatus run(IProgressMonitor monitor) {
-		SubMonitor progress = SubMonitor.convert(monitor, handles.size());
-		for(MetricHandle handle : handles) {
-			handle.recompute(progress.split(1));
-		}
+		MetricsRecomputation.recomputeAll(handles, pool, monitor);
 		doneCallback.run();
 		return Status.OK_STATUS;
 	}
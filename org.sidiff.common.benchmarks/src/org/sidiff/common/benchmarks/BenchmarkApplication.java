@@ -0,0 +1,90 @@
+package org.sidiff.common.benchmarks;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.xmi.impl.XMIResourceFactoryImpl;
+import org.eclipse.equinox.app.IApplication;
+import org.eclipse.equinox.app.IApplicationContext;
+import org.sidiff.common.app.CommandLine;
+import org.sidiff.common.app.CommandLine.Argument;
+import org.sidiff.common.io.IOUtil;
+
+/**
+ * <p>Application that runs benchmarks of the hot paths of the common bundles
+ * on synthetic models, and prints the timings.</p>
+ * <p>The application can be run as Eclipse application or as plain Java program
+ * with the bundles and their dependencies on the class path. Parameters:</p>
+ * <ul>
+ * <li><b>-size n</b> The number of classes of the synthetic models, default: 1000</li>
+ * <li><b>-seed n</b> The seed of the synthetic models, default: 42</li>
+ * <li><b>-warmup n</b> The number of iterations that are not measured, default: 5</li>
+ * <li><b>-iterations n</b> The number of measured iterations, default: 10</li>
+ * <li><b>-filter regex</b> Only runs the benchmarks whose names contain the regex, e.g. <code>^xml\.</code></li>
+ * </ul>
+ */
+public class BenchmarkApplication implements IApplication {
+
+	private static final Argument<Integer> SIZE = CommandLine.createParameter("size", Integer.class, false);
+	private static final Argument<Long> SEED = CommandLine.createParameter("seed", Long.class, false);
+	private static final Argument<Integer> WARMUP = CommandLine.createParameter("warmup", Integer.class, false);
+	private static final Argument<Integer> ITERATIONS = CommandLine.createParameter("iterations", Integer.class, false);
+	private static final Argument<String> FILTER = CommandLine.createParameter("filter", String.class, false);
+
+	public static void main(String[] args) throws Exception {
+		// Without the extension registry, the resource factories must be registered explicitly
+		Resource.Factory.Registry.INSTANCE.getExtensionToFactoryMap()
+			.putIfAbsent(Resource.Factory.Registry.DEFAULT_EXTENSION, new XMIResourceFactoryImpl());
+		run(args);
+	}
+
+	@Override
+	public Object start(IApplicationContext context) throws Exception {
+		run((String[])context.getArguments().get(IApplicationContext.APPLICATION_ARGS));
+		return IApplication.EXIT_OK;
+	}
+
+	@Override
+	public void stop() {
+	}
+
+	private static void run(String[] args) throws Exception {
+		// Arguments of the Eclipse launcher are ignored
+		CommandLine.parse(args, true);
+		int size = valueOrDefault(SIZE.getValue(), 1000);
+		long seed = valueOrDefault(SEED.getValue(), 42L);
+		String filter = FILTER.getValue();
+		BenchmarkRunner runner = new BenchmarkRunner(valueOrDefault(WARMUP.getValue(), 5),
+				valueOrDefault(ITERATIONS.getValue(), 10), filter == null ? null : Pattern.compile(filter));
+
+		System.out.println("Running benchmarks with " + size + " classes, seed " + seed
+				+ ", Java " + System.getProperty("java.version")
+				+ ", " + Runtime.getRuntime().availableProcessors() + " processors");
+		Path directory = Files.createTempDirectory("sidiff-benchmarks");
+		try {
+			SyntheticModelGenerator generator = new SyntheticModelGenerator(size, seed);
+			List<BenchmarkSuite> suites = Arrays.asList(
+					new EMFAccessBenchmarks(generator),
+					new LCSBenchmarks(generator, seed),
+					new JsonBenchmarks(generator),
+					new XMLBenchmarks(generator),
+					new ModelStorageBenchmarks(size, seed, directory),
+					new LoggingBenchmarks(directory));
+			for(BenchmarkSuite suite : suites) {
+				suite.run(runner);
+			}
+		} finally {
+			IOUtil.deleteFolder(directory.toFile());
+		}
+		System.out.println();
+		runner.printResults(System.out);
+	}
+
+	private static <T> T valueOrDefault(T value, T defaultValue) {
+		return value == null ? defaultValue : value;
+	}
+}
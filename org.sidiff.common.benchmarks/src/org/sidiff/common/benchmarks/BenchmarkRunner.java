@@ -0,0 +1,214 @@
+package org.sidiff.common.benchmarks;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.regex.Pattern;
+
+/**
+ * Runs benchmarks and collects their timings. Every benchmark is executed a number of
+ * warmup iterations, which are not measured, followed by the measured iterations.
+ * The results of the operations are consumed, so that the JIT compiler cannot
+ * eliminate the measured code. Besides timings, the heap retained by the result
+ * of an operation can be measured.
+ */
+public class BenchmarkRunner {
+
+	private final int warmupIterations;
+	private final int iterations;
+	private final Pattern filter;
+
+	private final List<Result> results = new ArrayList<>();
+	private final List<Result> heapResults = new ArrayList<>();
+
+	// Consumes the results of the operations
+	private volatile int sink;
+
+	/**
+	 * @param warmupIterations the number of iterations that are not measured
+	 * @param iterations the number of measured iterations
+	 * @param filter pattern that the names of the benchmarks to run must contain,
+	 * <code>null</code> to run all benchmarks
+	 */
+	public BenchmarkRunner(int warmupIterations, int iterations, Pattern filter) {
+		if(iterations < 1) {
+			throw new IllegalArgumentException("At least one iteration must be measured");
+		}
+		this.warmupIterations = warmupIterations;
+		this.iterations = iterations;
+		this.filter = filter;
+	}
+
+	/**
+	 * Returns whether the benchmark with the given name is run, i.e. whether
+	 * expensive preparations for it are necessary.
+	 * @param name the name of the benchmark
+	 * @return <code>true</code> if the benchmark is run, <code>false</code> otherwise
+	 */
+	public boolean isEnabled(String name) {
+		return filter == null || filter.matcher(name).find();
+	}
+
+	/**
+	 * Runs the given operation as benchmark with the given name, if it is enabled.
+	 * @param name the name of the benchmark
+	 * @param operation the measured operation
+	 */
+	public void run(String name, Callable<?> operation) {
+		run(name, null, operation);
+	}
+
+	/**
+	 * Runs the given operation as benchmark with the given name, if it is enabled.
+	 * @param name the name of the benchmark
+	 * @param setup operation that is executed before each iteration and is not measured,
+	 * e.g. to clear caches, may be <code>null</code>
+	 * @param operation the measured operation
+	 */
+	public void run(String name, Runnable setup, Callable<?> operation) {
+		if(!isEnabled(name)) {
+			return;
+		}
+		try {
+			for(int i = 0; i < warmupIterations; i++) {
+				execute(setup, operation);
+			}
+			long[] times = new long[iterations];
+			for(int i = 0; i < iterations; i++) {
+				times[i] = execute(setup, operation);
+			}
+			Result result = new Result(name, times);
+			results.add(result);
+			System.out.println(result);
+		} catch (Exception e) {
+			System.out.println("Benchmark " + name + " failed: " + e);
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Measures the heap retained by the result of the given operation, if the benchmark
+	 * is enabled: the used heap after garbage collection while the result is referenced,
+	 * minus the used heap after garbage collection before the operation.
+	 * The values are only approximations, garbage collection is merely requested.
+	 * No warmup iterations are executed.
+	 * @param name the name of the benchmark
+	 * @param setup operation that is executed before each iteration and is not measured,
+	 * e.g. to create the input of the operation, may be <code>null</code>
+	 * @param operation the measured operation
+	 */
+	public void runHeap(String name, Runnable setup, Callable<?> operation) {
+		if(!isEnabled(name)) {
+			return;
+		}
+		try {
+			long[] sizes = new long[iterations];
+			for(int i = 0; i < iterations; i++) {
+				if(setup != null) {
+					setup.run();
+				}
+				long before = usedHeap();
+				Object value = operation.call();
+				sizes[i] = usedHeap() - before;
+				sink += System.identityHashCode(value);
+			}
+			Result result = new Result(name, sizes);
+			heapResults.add(result);
+			System.out.println(name + ": median " + kibibytes(result.median()) + " KiB, min "
+					+ kibibytes(result.min()) + " KiB (" + iterations + " iterations)");
+		} catch (Exception e) {
+			System.out.println("Benchmark " + name + " failed: " + e);
+			e.printStackTrace();
+		}
+	}
+
+	private static long usedHeap() {
+		// A single request may not collect all unreachable objects
+		for(int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		Runtime runtime = Runtime.getRuntime();
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private long execute(Runnable setup, Callable<?> operation) throws Exception {
+		if(setup != null) {
+			setup.run();
+		}
+		long start = System.nanoTime();
+		Object value = operation.call();
+		long time = System.nanoTime() - start;
+		sink += System.identityHashCode(value);
+		return time;
+	}
+
+	/**
+	 * Prints the results of all benchmarks that have been run as table.
+	 * @param out the stream to print to
+	 */
+	public void printResults(PrintStream out) {
+		int nameWidth = 9;
+		for(Result result : results) {
+			nameWidth = Math.max(nameWidth, result.name.length());
+		}
+		for(Result result : heapResults) {
+			nameWidth = Math.max(nameWidth, result.name.length());
+		}
+		String format = "%-" + nameWidth + "s %12s %12s %12s %12s%n";
+		out.printf(format, "Benchmark", "min [ms]", "median [ms]", "mean [ms]", "max [ms]");
+		for(Result result : results) {
+			out.printf(format, result.name, millis(result.min()), millis(result.median()), millis(result.mean()), millis(result.max()));
+		}
+		if(!heapResults.isEmpty()) {
+			out.println();
+			out.printf(format, "Benchmark", "min [KiB]", "median [KiB]", "mean [KiB]", "max [KiB]");
+			for(Result result : heapResults) {
+				out.printf(format, result.name, kibibytes(result.min()), kibibytes(result.median()), kibibytes(result.mean()), kibibytes(result.max()));
+			}
+		}
+	}
+
+	private static String millis(double nanos) {
+		return String.format("%.3f", nanos / 1_000_000);
+	}
+
+	private static String kibibytes(double bytes) {
+		return String.format("%.1f", bytes / 1024);
+	}
+
+	private static class Result {
+
+		private final String name;
+		private final long[] times;
+
+		Result(String name, long[] times) {
+			this.name = name;
+			this.times = times.clone();
+			Arrays.sort(this.times);
+		}
+
+		long min() {
+			return times[0];
+		}
+
+		long max() {
+			return times[times.length - 1];
+		}
+
+		double median() {
+			int middle = times.length / 2;
+			return times.length % 2 == 1 ? times[middle] : (times[middle - 1] + times[middle]) / 2.0;
+		}
+
+		double mean() {
+			return Arrays.stream(times).average().getAsDouble();
+		}
+
+		@Override
+		public String toString() {
+			return name + ": median " + millis(median()) + " ms, min " + millis(min()) + " ms (" + times.length + " iterations)";
+		}
+	}
+}
@@ -0,0 +1,14 @@
+package org.sidiff.common.benchmarks;
+
+/**
+ * A group of related benchmarks, which share their input data.
+ */
+interface BenchmarkSuite {
+
+	/**
+	 * Prepares the input data and runs the enabled benchmarks of this suite.
+	 * @param runner the runner to run the benchmarks with
+	 * @throws Exception if preparing the input data failed
+	 */
+	void run(BenchmarkRunner runner) throws Exception;
+}
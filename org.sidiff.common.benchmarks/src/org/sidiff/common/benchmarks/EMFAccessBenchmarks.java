@@ -0,0 +1,140 @@
+package org.sidiff.common.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.sidiff.common.emf.access.EMFMetaAccess;
+import org.sidiff.common.emf.access.EMFModelAccess;
+import org.sidiff.common.emf.access.EMFReverseAccessor;
+import org.sidiff.common.emf.access.impl.EMFCompactIndexedAccessorImpl;
+import org.sidiff.common.emf.access.impl.EMFIndexedAccessorImpl;
+import org.sidiff.common.emf.access.path.EMFPath;
+import org.sidiff.common.emf.access.tree.TreeVisitor;
+import org.sidiff.common.emf.modelstorage.SiDiffResourceSet;
+
+/**
+ * Benchmarks of the model access: traversal, reverse references and path evaluation.
+ */
+class EMFAccessBenchmarks implements BenchmarkSuite {
+
+	private static final URI MODEL_URI = URI.createURI("synthetic.ecore");
+
+	private final SyntheticModelGenerator generator;
+
+	// Model with a new reverse index, for measuring the creation of the index
+	private List<EClass> coldClasses;
+
+	EMFAccessBenchmarks(SyntheticModelGenerator generator) {
+		this.generator = generator;
+	}
+
+	@Override
+	public void run(BenchmarkRunner runner) {
+		List<EClass> eClasses = generateClasses();
+
+		runner.run("emf.traverse", () -> {
+			int[] counter = new int[1];
+			EMFModelAccess.traverse(eClasses.get(0).eResource(), new TreeVisitor() {
+				@Override
+				public boolean preExecute(EObject object) {
+					counter[0]++;
+					return true;
+				}
+
+				@Override
+				public void postExecute(EObject object) {
+				}
+			});
+			return counter[0];
+		});
+
+		runner.run("emf.getRefers.cold", () -> coldClasses = generateClasses(), () -> getAllRefers(coldClasses));
+		coldClasses = null;
+		runner.run("emf.getRefers.warm", () -> getAllRefers(eClasses));
+
+		// Comparison of the reverse accessors, which are used directly
+		for(Map.Entry<String,Supplier<EMFReverseAccessor>> accessor : createReverseAccessors().entrySet()) {
+			runner.run("emf.index.build." + accessor.getKey(), () -> coldClasses = generateClasses(),
+					() -> buildIndex(accessor.getValue().get(), coldClasses));
+			runner.runHeap("emf.index.heap." + accessor.getKey(), () -> coldClasses = generateClasses(),
+					() -> buildIndex(accessor.getValue().get(), coldClasses));
+			coldClasses = null;
+			String getRefersName = "emf.getRefers." + accessor.getKey();
+			if(runner.isEnabled(getRefersName)) {
+				EMFReverseAccessor reverseAccessor = buildIndex(accessor.getValue().get(), eClasses);
+				runner.run(getRefersName, () -> getAllRefers(reverseAccessor, eClasses));
+				reverseAccessor.dispose();
+			}
+		}
+
+		EMFPath referencedClasses = EMFMetaAccess.translatePath(EcorePackage.Literals.ECLASS,
+				"Outgoing.eStructuralFeatures#EReference/Outgoing.eType#EClass");
+		EMFPath siblingClasses = EMFMetaAccess.translatePath(EcorePackage.Literals.ECLASS,
+				"Outgoing.eSuperTypes#EClass/Incoming.eSuperTypes#EClass");
+		runner.run("emf.evaluatePath.outgoing", () -> evaluatePath(eClasses, referencedClasses));
+		runner.run("emf.evaluatePath.incoming", () -> evaluatePath(eClasses, siblingClasses));
+		runner.run("emf.evaluatePath.incoming.batch", () -> EMFModelAccess.evaluatePath(eClasses, siblingClasses, false));
+		runner.run("emf.evaluatePath.incoming.batch.parallel", () -> EMFModelAccess.evaluatePath(eClasses, siblingClasses, true));
+	}
+
+	private List<EClass> generateClasses() {
+		Resource resource = generator.generate(SiDiffResourceSet.create(), MODEL_URI);
+		List<EClass> eClasses = new ArrayList<>();
+		for(Object eClassifier : ((EPackage)resource.getContents().get(0)).getEClassifiers()) {
+			eClasses.add((EClass)eClassifier);
+		}
+		return eClasses;
+	}
+
+	private static Map<String,Supplier<EMFReverseAccessor>> createReverseAccessors() {
+		Map<String,Supplier<EMFReverseAccessor>> accessors = new LinkedHashMap<>();
+		accessors.put("indexed", EMFIndexedAccessorImpl::new);
+		accessors.put("compact", EMFCompactIndexedAccessorImpl::new);
+		return accessors;
+	}
+
+	/**
+	 * Creates the index of the resource of the classes, and of the resources they refer to.
+	 */
+	private static EMFReverseAccessor buildIndex(EMFReverseAccessor accessor, List<EClass> eClasses) {
+		accessor.getRefers(eClasses.get(0), EcorePackage.Literals.ECLASS__ESUPER_TYPES);
+		return accessor;
+	}
+
+	private static int getAllRefers(EMFReverseAccessor accessor, List<EClass> eClasses) {
+		int count = 0;
+		for(EClass eClass : eClasses) {
+			count += accessor.getRefers(eClass, EcorePackage.Literals.ETYPED_ELEMENT__ETYPE).size();
+			count += accessor.getRefers(eClass, EcorePackage.Literals.ECLASS__ESUPER_TYPES).size();
+		}
+		return count;
+	}
+
+	private static int getAllRefers(List<EClass> eClasses) {
+		int count = 0;
+		for(EClass eClass : eClasses) {
+			count += EMFModelAccess.getRefers(eClass, EcorePackage.Literals.ETYPED_ELEMENT__ETYPE).size();
+			count += EMFModelAccess.getRefers(eClass, EcorePackage.Literals.ECLASS__ESUPER_TYPES).size();
+		}
+		return count;
+	}
+
+	private static int evaluatePath(List<EClass> eClasses, EMFPath path) {
+		int count = 0;
+		for(EClass eClass : eClasses) {
+			Collection<EObject> targets = EMFModelAccess.evaluatePath(eClass, path);
+			count += targets.size();
+		}
+		return count;
+	}
+}
@@ -0,0 +1,33 @@
+package org.sidiff.common.benchmarks;
+
+import java.io.StringWriter;
+
+import org.eclipse.emf.common.util.URI;
+import org.sidiff.common.emf.modelstorage.SiDiffResourceSet;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonValue;
+
+/**
+ * Benchmarks of parsing and writing JSON.
+ */
+class JsonBenchmarks implements BenchmarkSuite {
+
+	private final SyntheticModelGenerator generator;
+
+	JsonBenchmarks(SyntheticModelGenerator generator) {
+		this.generator = generator;
+	}
+
+	@Override
+	public void run(BenchmarkRunner runner) {
+		JsonValue value = SyntheticModelGenerator.toJson(generator.generate(SiDiffResourceSet.create(), URI.createURI("synthetic.ecore")));
+		String json = value.toString();
+		runner.run("json.parse", () -> Json.parse(json));
+		runner.run("json.writeTo", () -> {
+			StringWriter writer = new StringWriter(json.length());
+			value.writeTo(writer);
+			return writer;
+		});
+	}
+}
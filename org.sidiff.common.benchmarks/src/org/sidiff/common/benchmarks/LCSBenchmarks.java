@@ -0,0 +1,61 @@
+package org.sidiff.common.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+
+import org.sidiff.common.lcs.LCSUtil;
+import org.sidiff.common.lcs.StringLCSUtil;
+
+/**
+ * Benchmarks of the longest common subsequence computations.
+ */
+class LCSBenchmarks implements BenchmarkSuite {
+
+	private static final int NAME_COUNT = 300;
+	private static final int SEQUENCE_LENGTH = 2000;
+	private static final int SEQUENCE_ALPHABET = 50;
+
+	private final SyntheticModelGenerator generator;
+	private final long seed;
+
+	LCSBenchmarks(SyntheticModelGenerator generator, long seed) {
+		this.generator = generator;
+		this.seed = seed;
+	}
+
+	@Override
+	public void run(BenchmarkRunner runner) {
+		List<String> names = generator.generateNames(NAME_COUNT);
+		runner.run("lcs.string.consideringCase", () -> {
+			float sum = 0;
+			for(String a : names) {
+				for(String b : names) {
+					sum += StringLCSUtil.compareStringConsideringCase(a, b);
+				}
+			}
+			return sum;
+		});
+		runner.run("lcs.string.ignoringCase.threshold", () -> {
+			float sum = 0;
+			for(String a : names) {
+				for(String b : names) {
+					sum += StringLCSUtil.compareStringIgnoringCase(a, b, 0.8f);
+				}
+			}
+			return sum;
+		});
+
+		Random random = new Random(seed);
+		int[] sequenceA = randomSequence(random);
+		int[] sequenceB = randomSequence(random);
+		runner.run("lcs.int", () -> LCSUtil.compareSequenceByEqualSubsequence(sequenceA, sequenceB));
+	}
+
+	private static int[] randomSequence(Random random) {
+		int[] sequence = new int[SEQUENCE_LENGTH];
+		for(int i = 0; i < sequence.length; i++) {
+			sequence[i] = random.nextInt(SEQUENCE_ALPHABET);
+		}
+		return sequence;
+	}
+}
@@ -0,0 +1,62 @@
+package org.sidiff.common.benchmarks;
+
+import java.nio.file.Path;
+
+import org.sidiff.common.logging.ILogChannel;
+import org.sidiff.common.logging.LogEvent;
+import org.sidiff.common.logging.LogUtil;
+import org.sidiff.common.logging.LogUtil.LogHandle;
+import org.sidiff.common.logging.internal.AsyncLogChannel;
+import org.sidiff.common.logging.internal.AsyncLogChannel.OverflowPolicy;
+import org.sidiff.common.logging.internal.FileLogChannel;
+
+/**
+ * Benchmarks of the logging: writing messages synchronously compared to the
+ * {@link AsyncLogChannel}, and the costs of messages that are not logged.
+ */
+class LoggingBenchmarks implements BenchmarkSuite {
+
+	private static final String PROPERTY_NAME_LOGFILE = "LOGFILE";
+	private static final int MESSAGE_COUNT = 10_000;
+
+	private final Path directory;
+
+	LoggingBenchmarks(Path directory) {
+		this.directory = directory;
+	}
+
+	@Override
+	public void run(BenchmarkRunner runner) {
+		if(runner.isEnabled("log.file")) {
+			System.setProperty(PROPERTY_NAME_LOGFILE, directory.resolve("benchmark.log").toString());
+			ILogChannel fileChannel = new FileLogChannel();
+			runner.run("log.file.sync", () -> log(fileChannel));
+			AsyncLogChannel asyncChannel = new AsyncLogChannel(new FileLogChannel(), 8192, OverflowPolicy.BLOCK);
+			// Measures the time of the logging threads only, the messages are written afterwards
+			runner.run("log.file.async", () -> log(asyncChannel));
+			asyncChannel.close();
+		}
+
+		// DEBUG is not logged by default
+		LogHandle handle = LogUtil.forClass(LoggingBenchmarks.class);
+		runner.run("log.disabled.LogUtil", () -> {
+			for(int i = 0; i < MESSAGE_COUNT; i++) {
+				LogUtil.log(LogEvent.DEBUG, "Message ", i);
+			}
+			return null;
+		});
+		runner.run("log.disabled.LogHandle", () -> {
+			for(int i = 0; i < MESSAGE_COUNT; i++) {
+				handle.log(LogEvent.DEBUG, "Message ", i);
+			}
+			return handle;
+		});
+	}
+
+	private static ILogChannel log(ILogChannel channel) {
+		for(int i = 0; i < MESSAGE_COUNT; i++) {
+			channel.log("Message " + i, LogEvent.MESSAGE);
+		}
+		return channel;
+	}
+}
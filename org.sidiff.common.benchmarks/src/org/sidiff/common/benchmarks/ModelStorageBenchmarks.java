@@ -0,0 +1,70 @@
+package org.sidiff.common.benchmarks;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.emf.common.util.URI;
+import org.sidiff.common.emf.modelstorage.BinaryResourceCache;
+import org.sidiff.common.emf.modelstorage.SiDiffResourceSet;
+
+/**
+ * Benchmarks of loading and saving models with the {@link SiDiffResourceSet}:
+ * XMI compared to the binary resource cache, and sequential compared to parallel.
+ */
+class ModelStorageBenchmarks implements BenchmarkSuite {
+
+	private static final String EXTENSION = "xmi";
+	private static final int MODEL_COUNT = 8;
+
+	private final int size;
+	private final long seed;
+	private final Path directory;
+
+	ModelStorageBenchmarks(int size, long seed, Path directory) {
+		this.size = size;
+		this.seed = seed;
+		this.directory = directory;
+	}
+
+	@Override
+	public void run(BenchmarkRunner runner) {
+		// Models with XmiIds, whose IDs are stored in the binary cache as well
+		SiDiffResourceSet resourceSet = createResourceSet(null);
+		List<URI> uris = new ArrayList<>();
+		for(int i = 0; i < MODEL_COUNT; i++) {
+			URI uri = URI.createFileURI(directory.resolve("synthetic" + i + "." + EXTENSION).toString());
+			new SyntheticModelGenerator(size, seed + i).generate(resourceSet, uri);
+			uris.add(uri);
+		}
+		resourceSet.saveAllResources();
+
+		BinaryResourceCache cache = new BinaryResourceCache(directory.resolve("cache"));
+		// Creates the cache entries
+		createResourceSet(cache).loadResources(uris);
+
+		runner.run("storage.load.xmi", () -> createResourceSet(null).getResource(uris.get(0), true));
+		runner.run("storage.load.binary", () -> createResourceSet(cache).getResource(uris.get(0), true));
+		runner.run("storage.loadResources.sequential", () -> createResourceSet(null).loadResources(uris, 1));
+		runner.run("storage.loadResources.parallel", () -> createResourceSet(null).loadResources(uris));
+		runner.run("storage.loadResources.parallel.binary", () -> createResourceSet(cache).loadResources(uris));
+
+		// Models are serialized completely, but only written if their contents changed
+		SiDiffResourceSet loaded = createResourceSet(null);
+		loaded.loadResources(uris);
+		runner.run("storage.saveAll.sequential", () -> {
+			loaded.saveAllResources();
+			return loaded;
+		});
+		runner.run("storage.saveAll.parallel", () -> {
+			loaded.saveAllResources(Runtime.getRuntime().availableProcessors());
+			return loaded;
+		});
+	}
+
+	private static SiDiffResourceSet createResourceSet(BinaryResourceCache cache) {
+		SiDiffResourceSet resourceSet = SiDiffResourceSet.create(EXTENSION);
+		resourceSet.setBinaryResourceCache(cache);
+		return resourceSet;
+	}
+}
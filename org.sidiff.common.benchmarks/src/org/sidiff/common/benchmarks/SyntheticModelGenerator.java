@@ -0,0 +1,147 @@
+package org.sidiff.common.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EAttribute;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EDataType;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.EcorePackage;
+import org.eclipse.emf.ecore.ENamedElement;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+
+/**
+ * Generates synthetic Ecore models. Models which are generated with
+ * the same size and seed are equal, so that measurements are comparable.
+ */
+public class SyntheticModelGenerator {
+
+	private static final EDataType[] ATTRIBUTE_TYPES = {
+			EcorePackage.Literals.ESTRING,
+			EcorePackage.Literals.EINT,
+			EcorePackage.Literals.EBOOLEAN,
+			EcorePackage.Literals.EDOUBLE
+	};
+
+	private static final int MAX_ATTRIBUTES = 4;
+	private static final int MAX_REFERENCES = 3;
+	private static final double SUPER_TYPE_PROBABILITY = 0.3;
+
+	private final int size;
+	private final long seed;
+
+	/**
+	 * @param size the number of classes of the generated models
+	 * @param seed the seed of the random generator
+	 */
+	public SyntheticModelGenerator(int size, long seed) {
+		this.size = size;
+		this.seed = seed;
+	}
+
+	/**
+	 * Generates a model in a new resource of the given resource set. The model is a package
+	 * of classes with attributes, references to random classes and random super types.
+	 * @param resourceSet the resource set
+	 * @param uri the URI of the new resource
+	 * @return the resource containing the model
+	 */
+	public Resource generate(ResourceSet resourceSet, URI uri) {
+		Random random = new Random(seed);
+		EcoreFactory factory = EcoreFactory.eINSTANCE;
+
+		EPackage ePackage = factory.createEPackage();
+		ePackage.setName("synthetic");
+		ePackage.setNsPrefix("synthetic");
+		ePackage.setNsURI("http://www.sidiff.org/benchmarks/synthetic/" + size + "/" + seed);
+
+		List<EClass> eClasses = new ArrayList<>(size);
+		for(int i = 0; i < size; i++) {
+			EClass eClass = factory.createEClass();
+			eClass.setName(randomName(random, "Class", i));
+			if(!eClasses.isEmpty() && random.nextDouble() < SUPER_TYPE_PROBABILITY) {
+				// Only earlier classes are used as super types, to prevent cycles
+				eClass.getESuperTypes().add(eClasses.get(random.nextInt(eClasses.size())));
+			}
+			for(int j = random.nextInt(MAX_ATTRIBUTES + 1); j > 0; j--) {
+				EAttribute eAttribute = factory.createEAttribute();
+				eAttribute.setName(randomName(random, "attribute", j));
+				eAttribute.setEType(ATTRIBUTE_TYPES[random.nextInt(ATTRIBUTE_TYPES.length)]);
+				eClass.getEStructuralFeatures().add(eAttribute);
+			}
+			eClasses.add(eClass);
+		}
+		for(EClass eClass : eClasses) {
+			for(int j = random.nextInt(MAX_REFERENCES + 1); j > 0; j--) {
+				EReference eReference = factory.createEReference();
+				eReference.setName(randomName(random, "reference", j));
+				eReference.setEType(eClasses.get(random.nextInt(eClasses.size())));
+				eReference.setContainment(random.nextInt(10) == 0);
+				eReference.setUpperBound(random.nextBoolean() ? 1 : -1);
+				eClass.getEStructuralFeatures().add(eReference);
+			}
+		}
+		ePackage.getEClassifiers().addAll(eClasses);
+
+		Resource resource = resourceSet.createResource(uri);
+		resource.getContents().add(ePackage);
+		return resource;
+	}
+
+	/**
+	 * Generates the given number of random names, which share common
+	 * prefixes and suffixes like the names in real models.
+	 * @param count the number of names
+	 * @return list of names
+	 */
+	public List<String> generateNames(int count) {
+		Random random = new Random(seed);
+		List<String> names = new ArrayList<>(count);
+		for(int i = 0; i < count; i++) {
+			names.add(randomName(random, "element", i));
+		}
+		return names;
+	}
+
+	/**
+	 * Converts the named elements of the given resource to a JSON array
+	 * of objects with their name, type and number of contents.
+	 * @param resource the resource
+	 * @return JSON array
+	 */
+	public static JsonArray toJson(Resource resource) {
+		JsonArray array = Json.array();
+		for(TreeIterator<EObject> iterator = resource.getAllContents(); iterator.hasNext(); ) {
+			EObject eObject = iterator.next();
+			if(eObject instanceof ENamedElement) {
+				JsonObject object = Json.object();
+				object.add("name", ((ENamedElement)eObject).getName());
+				object.add("type", eObject.eClass().getName());
+				object.add("contents", eObject.eContents().size());
+				object.add("abstract", eObject instanceof EClass && ((EClass)eObject).isAbstract());
+				array.add(object);
+			}
+		}
+		return array;
+	}
+
+	private static String randomName(Random random, String prefix, int index) {
+		StringBuilder name = new StringBuilder(prefix);
+		for(int i = random.nextInt(12) + 2; i > 0; i--) {
+			name.append((char)('a' + random.nextInt(26)));
+		}
+		return name.append(index).toString();
+	}
+}
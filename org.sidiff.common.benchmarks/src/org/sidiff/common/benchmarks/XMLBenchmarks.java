@@ -0,0 +1,102 @@
+package org.sidiff.common.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.sidiff.common.emf.modelstorage.SiDiffResourceSet;
+import org.sidiff.common.io.IOUtil;
+import org.sidiff.common.xml.XMLParser;
+import org.sidiff.common.xml.XMLTransformer;
+import org.w3c.dom.Document;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * Benchmarks of parsing and transforming XML, using the XMI document of a synthetic model.
+ * The parallel benchmarks process a batch of documents with one thread per processor,
+ * and are compared to processing the same batch sequentially.
+ */
+class XMLBenchmarks implements BenchmarkSuite {
+
+	private static final String XSLT =
+			"<xsl:stylesheet version=\"1.0\" xmlns:xsl=\"http://www.w3.org/1999/XSL/Transform\">"
+			+ "<xsl:template match=\"/\"><classes><xsl:apply-templates select=\"//eClassifiers\"/></classes></xsl:template>"
+			+ "<xsl:template match=\"eClassifiers\"><class name=\"{@name}\" features=\"{count(eStructuralFeatures)}\"/></xsl:template>"
+			+ "</xsl:stylesheet>";
+
+	private static final String XPATH = "//eClassifiers[eStructuralFeatures/@upperBound='-1']";
+
+	// The number of documents which are processed by the batch benchmarks
+	private static final int BATCH_SIZE = 32;
+
+	private final SyntheticModelGenerator generator;
+
+	XMLBenchmarks(SyntheticModelGenerator generator) {
+		this.generator = generator;
+	}
+
+	@Override
+	public void run(BenchmarkRunner runner) throws Exception {
+		Resource resource = generator.generate(SiDiffResourceSet.create(), URI.createURI("synthetic.ecore"));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		resource.save(out, null);
+		byte[] xml = out.toByteArray();
+		byte[] xslt = XSLT.getBytes(StandardCharsets.UTF_8);
+
+		runner.run("xml.parse.dom", () -> XMLParser.parseStream(new ByteArrayInputStream(xml)));
+		runner.run("xml.parse.sax", () -> {
+			DefaultHandler handler = new DefaultHandler();
+			XMLParser.parseStream(new ByteArrayInputStream(xml), handler);
+			return handler;
+		});
+
+		Document document = XMLParser.parseStream(new ByteArrayInputStream(xml));
+		runner.run("xml.xpath", () -> XMLParser.processXPath(document, XPATH).getLength());
+
+		Callable<Integer> parseAndQuery = () -> XMLParser.processXPath(
+				XMLParser.parseStream(new ByteArrayInputStream(xml)), XPATH).getLength();
+		runner.run("xml.batch.sequential", () -> {
+			int count = 0;
+			for(int i = 0; i < BATCH_SIZE; i++) {
+				count += parseAndQuery.call();
+			}
+			return count;
+		});
+		ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+		try {
+			runner.run("xml.batch.parallel", () -> {
+				List<Future<Integer>> results = new ArrayList<>(BATCH_SIZE);
+				for(int i = 0; i < BATCH_SIZE; i++) {
+					results.add(executor.submit(parseAndQuery));
+				}
+				int count = 0;
+				for(Future<Integer> result : results) {
+					count += result.get();
+				}
+				return count;
+			});
+		} finally {
+			executor.shutdown();
+		}
+
+		runner.run("xml.transform.cold", XMLTransformer::clearTemplatesCache, () -> transform(xml, xslt));
+		runner.run("xml.transform.warm", () -> transform(xml, xslt));
+	}
+
+	private static byte[] transform(byte[] xml, byte[] xslt) throws Exception {
+		ByteArrayOutputStream result = new ByteArrayOutputStream();
+		try(InputStream in = XMLTransformer.transform(new ByteArrayInputStream(xml), new ByteArrayInputStream(xslt))) {
+			IOUtil.transfer(in, result);
+		}
+		return result.toByteArray();
+	}
+}
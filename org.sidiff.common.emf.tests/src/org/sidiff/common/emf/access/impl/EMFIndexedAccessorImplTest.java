@@ -0,0 +1,173 @@
+package org.sidiff.common.emf.access.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the incremental {@link EMFIndexedAccessorImpl} is kept correct while the model is edited.
+ */
+public class EMFIndexedAccessorImplTest {
+
+	private EClass node;
+	private EReference ref;
+	private EReference children;
+
+	private ResourceSet resourceSet;
+	private EObject root;
+
+	private EMFIndexedAccessorImpl accessor;
+
+	@Before
+	public void setUp() {
+		EcoreFactory factory = EcoreFactory.eINSTANCE;
+		EPackage ePackage = factory.createEPackage();
+		ePackage.setName("test");
+		ePackage.setNsURI("http://test");
+		node = factory.createEClass();
+		node.setName("Node");
+		ePackage.getEClassifiers().add(node);
+		ref = factory.createEReference();
+		ref.setName("ref");
+		ref.setEType(node);
+		node.getEStructuralFeatures().add(ref);
+		children = factory.createEReference();
+		children.setName("children");
+		children.setEType(node);
+		children.setUpperBound(-1);
+		children.setContainment(true);
+		node.getEStructuralFeatures().add(children);
+
+		resourceSet = new ResourceSetImpl();
+		root = createNode(createResource("a"));
+		accessor = new EMFIndexedAccessorImpl(true);
+	}
+
+	@After
+	public void tearDown() {
+		accessor.dispose();
+	}
+
+	@Test
+	public void testReferenceSetBeforeTargetIsAdded() {
+		EObject source = addChild(root);
+		accessor.getRefers(root, children);
+
+		EObject target = EcoreUtil.create(node);
+		source.eSet(ref, target);
+		children(root).add(target);
+
+		assertEquals(Collections.singleton(source), new HashSet<EObject>(accessor.getRefers(target, ref)));
+	}
+
+	@Test
+	public void testReferenceSetBeforeTargetTreeIsAdded() {
+		EObject source = addChild(root);
+		accessor.getRefers(root, children);
+
+		EObject container = EcoreUtil.create(node);
+		EObject target = addChild(container);
+		source.eSet(ref, target);
+		children(root).add(container);
+
+		assertEquals(Collections.singleton(source), new HashSet<EObject>(accessor.getRefers(target, ref)));
+	}
+
+	@Test
+	public void testReferenceSetBeforeTargetIsAddedToAnotherResource() {
+		EObject source = addChild(root);
+		accessor.getRefers(root, children);
+
+		EObject target = EcoreUtil.create(node);
+		source.eSet(ref, target);
+		Resource other = createResource("b");
+		other.getContents().add(target);
+
+		assertEquals(Collections.singleton(source), new HashSet<EObject>(accessor.getRefers(target, ref)));
+	}
+
+	@Test
+	public void testReferenceUnsetBeforeTargetIsAdded() {
+		EObject source = addChild(root);
+		accessor.getRefers(root, children);
+
+		EObject target = EcoreUtil.create(node);
+		source.eSet(ref, target);
+		source.eUnset(ref);
+		children(root).add(target);
+
+		assertTrue(accessor.getRefers(target, ref).isEmpty());
+	}
+
+	@Test
+	public void testSourceRemovedBeforeTargetIsAdded() {
+		EObject source = addChild(root);
+		accessor.getRefers(root, children);
+
+		EObject target = EcoreUtil.create(node);
+		source.eSet(ref, target);
+		EcoreUtil.remove(source);
+		children(root).add(target);
+
+		assertTrue(accessor.getRefers(target, ref).isEmpty());
+	}
+
+	@Test
+	public void testReferenceSetBeforeTargetIsAddedParallel() {
+		accessor.dispose();
+		accessor = new EMFIndexedAccessorImpl(true, ForkJoinPool.commonPool());
+
+		List<EObject> sources = Arrays.asList(addChild(root), addChild(root), addChild(root));
+		EObject target = EcoreUtil.create(node);
+		for(EObject source : sources){
+			source.eSet(ref, target);
+		}
+		accessor.getRefers(root, children);
+		children(root).add(target);
+
+		assertEquals(new HashSet<EObject>(sources), new HashSet<EObject>(accessor.getRefers(target, ref)));
+	}
+
+	private Resource createResource(String name) {
+		Resource resource = new ResourceImpl(URI.createURI(name));
+		resourceSet.getResources().add(resource);
+		return resource;
+	}
+
+	private EObject createNode(Resource resource) {
+		EObject object = EcoreUtil.create(node);
+		resource.getContents().add(object);
+		return object;
+	}
+
+	private EObject addChild(EObject parent) {
+		EObject child = EcoreUtil.create(node);
+		children(parent).add(child);
+		return child;
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<EObject> children(EObject parent) {
+		return (List<EObject>)parent.eGet(children);
+	}
+}
@@ -1,12 +1,17 @@
 package org.sidiff.common.emf.access;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 import org.eclipse.emf.common.notify.Notifier;
 import org.eclipse.emf.common.util.EList;
@@ -15,9 +20,13 @@ import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.sidiff.common.emf.access.impl.DocumentTypesAdapter;
+import org.sidiff.common.emf.access.impl.EMFCompactIndexedAccessorImpl;
 import org.sidiff.common.emf.access.impl.EMFIndexedAccessorImpl;
 import org.sidiff.common.emf.access.impl.EMFModelAccessor;
 import org.sidiff.common.emf.access.impl.EMFModelAccessorImpl;
+import org.sidiff.common.emf.access.impl.EMFReverseAccessorAdapter;
 import org.sidiff.common.emf.access.path.EMFPath;
 import org.sidiff.common.emf.access.path.EMFPathAccessor;
 import org.sidiff.common.emf.access.path.PathEvaluationStrategy;
@@ -39,7 +48,9 @@ public class EMFModelAccess {
 	static EMFModelAccessor modelAccessor = new EMFModelAccessorImpl();
 	static EMFPathAccessor pathAccessor = new EMFPathAccessorImpl();
 	static RemoteAttributeAccessor remoteValueAccessor = new RemoteAttributeAccessorImpl();
-	static EMFReverseAccessor reverseAccessor = new EMFIndexedAccessorImpl();
+	static Supplier<? extends EMFReverseAccessor> reverseAccessorFactory = EMFIndexedAccessorImpl::new;
+	// Guards itself, the factory and the adapters of the scopes, as the reverse accessors are shared by all threads
+	static final Set<Notifier> reverseAccessorScopes = Collections.newSetFromMap(new WeakHashMap<Notifier,Boolean>());
 	
 	/**
 	 * Returns the index position of the given object within its container.
@@ -108,6 +119,8 @@ public class EMFModelAccess {
 	/**
 	 * Returns all document types between notifiers. This is
 	 * the union of all resource/resource set/EObject document types.
+	 * The document types of resources and resource sets are cached
+	 * by a {@link DocumentTypesAdapter}.
 	 */
 	public static Set<String> getDocumentTypes(Collection<? extends Notifier> notifiers) {
 		final Set<String> documentTypes = new HashSet<>();
@@ -125,9 +138,9 @@ public class EMFModelAccess {
 		};
 		for (Notifier notifier : notifiers) {
 			if(notifier instanceof ResourceSet) {
-				documentTypes.addAll(getDocumentTypes(notifier));
+				documentTypes.addAll(DocumentTypesAdapter.getDocumentTypes((ResourceSet)notifier));
 			} else if(notifier instanceof Resource) {
-				EMFModelAccess.traverse((Resource)notifier, visitor);
+				documentTypes.addAll(DocumentTypesAdapter.getDocumentTypes((Resource)notifier));
 			} else if(notifier instanceof EObject) {
 				EMFModelAccess.traverse((EObject)notifier, visitor);
 			}
@@ -349,6 +362,41 @@ public class EMFModelAccess {
 	public static <T> T evaluatePath(EObject start, EMFPath path, Class<? extends PathEvaluationStrategy<T>> strategy){
 		return pathAccessor.evaluatePath(start, path, strategy);
 	}
+	
+	/**
+	 * Passes those elements which are addressed by the given path and the default strategy
+	 * to the given consumer, without collecting them.
+	 * 
+	 * @param start The EMF start node/object
+	 * @param path The EMF-Path to be evaluated.
+	 * @param consumer Receives the EMF-Objects addressed by the given Path.
+	 */
+	public static void evaluatePath(EObject start, EMFPath path, Consumer<? super EObject> consumer){
+		pathAccessor.evaluatePath(start, path, consumer);
+	}
+	
+	/**
+	 * Returns those elements which are addressed by the given path and the default strategy,
+	 * for each of the given start nodes. Nodes that are reached from several start nodes are
+	 * evaluated only once.
+	 * 
+	 * @param starts The EMF start nodes/objects
+	 * @param path The EMF-Path to be evaluated.
+	 * @param parallel Whether the path may be evaluated in parallel. The model must not be modified meanwhile.
+	 * 
+	 * @return The EMF-Objects adressed by the given Path, by start node.
+	 */
+	public static Map<EObject,Collection<EObject>> evaluatePath(Collection<? extends EObject> starts, EMFPath path, boolean parallel){
+		return pathAccessor.evaluatePath(starts, path, parallel);
+	}
+
+	/**
+	 * Removes all cached translated paths, e.g. after meta-models have been unloaded.
+	 * The cache does not prevent unused meta-models from being garbage collected.
+	 */
+	public static void clearPathCache(){
+		pathAccessor.clearPathCache();
+	}
 
 	/**
 	 * Evaluates the RemoteAttribute on a given Node/Object.
@@ -369,9 +417,99 @@ public class EMFModelAccess {
 	 * @return
 	 */
 	public static Collection<EObject> getRefers(EObject target,EReference reference){
-		return reverseAccessor.getRefers(target, reference);
+		return getReverseAccessor(target).getRefers(target, reference);
 	}
-	
+
+	/**
+	 * Returns the reverse accessor of the resource set (or resource, if there is no resource set)
+	 * of the given object. The accessor is created on demand and attached to its scope using an
+	 * {@link EMFReverseAccessorAdapter}, i.e. its index is released together with the resource set.
+	 * Resources that are unloaded or removed from the resource set are evicted from the index.
+	 * @param context an object contained in a resource
+	 * @return the reverse accessor of the object's scope
+	 */
+	public static EMFReverseAccessor getReverseAccessor(EObject context) {
+		Notifier scope = getResourceSet(context);
+		if(scope == null) {
+			scope = context.eResource();
+			if(scope == null) {
+				throw new IllegalArgumentException("Object is not contained in a resource: " + context);
+			}
+		}
+		synchronized (reverseAccessorScopes) {
+			EMFReverseAccessorAdapter adapter = (EMFReverseAccessorAdapter)EcoreUtil.getExistingAdapter(scope, EMFReverseAccessorAdapter.class);
+			if(adapter == null) {
+				adapter = new EMFReverseAccessorAdapter(reverseAccessorFactory.get());
+				scope.eAdapters().add(adapter);
+				reverseAccessorScopes.add(scope);
+			}
+			return adapter.getAccessor();
+		}
+	}
+
+	/**
+	 * Discards the reverse index of the given resource, which is rebuilt on demand.
+	 * @param resource the resource
+	 */
+	public static void invalidateReverseAccess(Resource resource) {
+		Notifier scope = resource.getResourceSet() != null ? resource.getResourceSet() : resource;
+		EMFReverseAccessorAdapter adapter;
+		synchronized (reverseAccessorScopes) {
+			adapter = (EMFReverseAccessorAdapter)EcoreUtil.getExistingAdapter(scope, EMFReverseAccessorAdapter.class);
+		}
+		if(adapter != null) {
+			adapter.getAccessor().invalidate(resource);
+		}
+	}
+
+	/**
+	 * Disposes the reverse accessor of the given resource set or resource and all of its indices.
+	 * @param scope the resource set, or a resource without resource set
+	 */
+	public static void disposeReverseAccess(Notifier scope) {
+		synchronized (reverseAccessorScopes) {
+			EMFReverseAccessorAdapter adapter = (EMFReverseAccessorAdapter)EcoreUtil.getExistingAdapter(scope, EMFReverseAccessorAdapter.class);
+			if(adapter != null) {
+				scope.eAdapters().remove(adapter);
+			}
+			reverseAccessorScopes.remove(scope);
+		}
+	}
+
+	/**
+	 * Disposes the reverse accessors of all resource sets and resources.
+	 */
+	public static void disposeReverseAccess() {
+		synchronized (reverseAccessorScopes) {
+			for(Notifier scope : new ArrayList<>(reverseAccessorScopes)) {
+				disposeReverseAccess(scope);
+			}
+		}
+	}
+
+	/**
+	 * Switches the reverse accessor used by {@link #getRefers(EObject, EReference)} between
+	 * an index that is computed once per resource and an index that is incrementally
+	 * updated on model changes. All current indices are discarded.
+	 * @param incremental <code>true</code> to keep the index up to date using notifications
+	 */
+	public static void setIncrementalReverseAccess(boolean incremental) {
+		setReverseAccessorFactory(() -> new EMFIndexedAccessorImpl(incremental));
+	}
+
+	/**
+	 * Replaces the factory of the reverse accessors used by {@link #getRefers(EObject, EReference)},
+	 * e.g. by one creating {@link EMFCompactIndexedAccessorImpl}s for large models.
+	 * All current indices are discarded.
+	 * @param factory factory creating one reverse accessor per resource set
+	 */
+	public static void setReverseAccessorFactory(Supplier<? extends EMFReverseAccessor> factory) {
+		synchronized (reverseAccessorScopes) {
+			disposeReverseAccess();
+			reverseAccessorFactory = factory;
+		}
+	}
+
 	/**
 	 * Returns all EObjects that refer to the given target with a reference of the given type. 
 	 * @param target
@@ -380,7 +518,7 @@ public class EMFModelAccess {
 	 */
 	public static EObject getRefer(EObject target,EReference reference){
 		
-		Iterator<EObject> refers = reverseAccessor.getRefers(target, reference).iterator();
+		Iterator<EObject> refers = getRefers(target, reference).iterator();
 		
 		EObject result = null;
 		if(refers.hasNext()){
@@ -539,14 +677,14 @@ public class EMFModelAccess {
 	 */
 	public static Set<String> getDocumentTypes(Resource modelResource, Scope scope) {
 		if (scope == Scope.RESOURCE_SET) {
-			return getDocumentTypes(modelResource.getResourceSet().getResources());
+			return new HashSet<>(DocumentTypesAdapter.getDocumentTypes(modelResource.getResourceSet()));
 		}
 		return getDocumentTypes(Collections.singleton(modelResource));
 	}
 
 	public static Set<String> getDocumentTypes(Notifier context) {
 		if(context instanceof ResourceSet) {
-			return getDocumentTypes(((ResourceSet)context).getResources());
+			return new HashSet<>(DocumentTypesAdapter.getDocumentTypes((ResourceSet)context));
 		} else if(context instanceof Resource) {
 			return getDocumentTypes(Collections.singleton((Resource)context));
 		} else if(context instanceof EObject) {
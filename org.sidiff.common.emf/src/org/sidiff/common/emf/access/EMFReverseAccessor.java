@@ -4,6 +4,7 @@ import java.util.Collection;
 
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.resource.Resource;
 
 /**
  * Interface for accessors that realize the reverse navigation
@@ -22,4 +23,22 @@ public interface EMFReverseAccessor {
 	 *  zielobjekt zeigt.
 	 */
 	public Collection<EObject> getRefers(EObject target,EReference reference);
+
+	/**
+	 * Discards all information indexed for the given resource, e.g. because
+	 * it has been unloaded. The resource is indexed again on demand.
+	 * 
+	 * @param resource the resource to invalidate
+	 */
+	default void invalidate(Resource resource) {
+		// nothing indexed by default
+	}
+
+	/**
+	 * Discards all indexed information and releases all listeners
+	 * that have been attached to the indexed resources.
+	 */
+	default void dispose() {
+		// nothing indexed by default
+	}
 }
@@ -0,0 +1,148 @@
+package org.sidiff.common.emf.access.impl;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.util.EcoreUtil;
+import org.sidiff.common.emf.access.EMFModelAccess;
+
+/**
+ * Adapter that caches the document types of all elements of a resource.
+ * <p>
+ * The adapter is only attached to the resource, not to its contents. The document types are
+ * determined by the root packages of the meta models, which are given by the root elements of
+ * the resource, so the cache is invalidated when the root elements change or the resource is
+ * loaded or unloaded. Nested elements of further meta models which are added later are not seen
+ * until then. The union of the document types of all resources of a resource set is cached by
+ * an adapter of the resource set, which is invalidated when resources are added or removed or
+ * when the cache of one of its resources is invalidated.</p>
+ * <p>
+ * The first request for a resource or resource set attaches the adapter, i.e. it modifies the
+ * adapters of the notifier. The returned sets must not be modified.</p>
+ */
+public class DocumentTypesAdapter extends AdapterImpl {
+
+	private final Resource resource;
+
+	// null if invalid
+	private Set<String> documentTypes;
+
+	private DocumentTypesAdapter(Resource resource) {
+		this.resource = resource;
+	}
+
+	/**
+	 * Returns the cached document types of all elements of the given resource.
+	 * @param resource the resource
+	 * @return unmodifiable set of document types
+	 */
+	public static Set<String> getDocumentTypes(Resource resource) {
+		DocumentTypesAdapter adapter;
+		synchronized (DocumentTypesAdapter.class) {
+			adapter = (DocumentTypesAdapter)EcoreUtil.getExistingAdapter(resource, DocumentTypesAdapter.class);
+			if(adapter == null) {
+				adapter = new DocumentTypesAdapter(resource);
+				resource.eAdapters().add(adapter);
+			}
+		}
+		return adapter.getDocumentTypes();
+	}
+
+	/**
+	 * Returns the cached union of the document types of all resources of the given resource set.
+	 * @param resourceSet the resource set
+	 * @return unmodifiable set of document types
+	 */
+	public static Set<String> getDocumentTypes(ResourceSet resourceSet) {
+		ResourceSetDocumentTypes adapter;
+		synchronized (DocumentTypesAdapter.class) {
+			adapter = (ResourceSetDocumentTypes)EcoreUtil.getExistingAdapter(resourceSet, ResourceSetDocumentTypes.class);
+			if(adapter == null) {
+				adapter = new ResourceSetDocumentTypes();
+				resourceSet.eAdapters().add(adapter);
+			}
+		}
+		return adapter.getDocumentTypes(resourceSet);
+	}
+
+	private synchronized Set<String> getDocumentTypes() {
+		if(documentTypes == null) {
+			Set<String> types = new HashSet<String>();
+			for(TreeIterator<EObject> iterator = EcoreUtil.getAllContents(resource.getContents()); iterator.hasNext(); ) {
+				types.add(EMFModelAccess.getDocumentType(iterator.next()));
+			}
+			documentTypes = types;
+		}
+		return documentTypes;
+	}
+
+	@Override
+	public void notifyChanged(Notification notification) {
+		if(notification.getNotifier() == resource && !notification.isTouch()) {
+			int featureId = notification.getFeatureID(Resource.class);
+			if(featureId == Resource.RESOURCE__CONTENTS || featureId == Resource.RESOURCE__IS_LOADED) {
+				invalidate();
+			}
+		}
+	}
+
+	private void invalidate() {
+		synchronized (this) {
+			documentTypes = null;
+		}
+		ResourceSet resourceSet = resource.getResourceSet();
+		if(resourceSet != null) {
+			ResourceSetDocumentTypes adapter = (ResourceSetDocumentTypes)EcoreUtil.getExistingAdapter(resourceSet, ResourceSetDocumentTypes.class);
+			if(adapter != null) {
+				adapter.invalidate();
+			}
+		}
+	}
+
+	@Override
+	public boolean isAdapterForType(Object type) {
+		return type == DocumentTypesAdapter.class;
+	}
+
+	/**
+	 * Adapter that caches the union of the document types of all resources of a resource set.
+	 */
+	private static class ResourceSetDocumentTypes extends AdapterImpl {
+
+		// null if invalid
+		private Set<String> documentTypes;
+
+		private synchronized Set<String> getDocumentTypes(ResourceSet resourceSet) {
+			if(documentTypes == null) {
+				Set<String> union = new HashSet<String>();
+				for(Resource resource : resourceSet.getResources()) {
+					union.addAll(DocumentTypesAdapter.getDocumentTypes(resource));
+				}
+				documentTypes = union;
+			}
+			return documentTypes;
+		}
+
+		private synchronized void invalidate() {
+			documentTypes = null;
+		}
+
+		@Override
+		public void notifyChanged(Notification notification) {
+			if(notification.getFeatureID(ResourceSet.class) == ResourceSet.RESOURCE_SET__RESOURCES && !notification.isTouch()) {
+				invalidate();
+			}
+		}
+
+		@Override
+		public boolean isAdapterForType(Object type) {
+			return type == ResourceSetDocumentTypes.class;
+		}
+	}
+}
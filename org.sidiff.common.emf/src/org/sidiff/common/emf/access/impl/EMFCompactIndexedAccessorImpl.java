@@ -0,0 +1,312 @@
+package org.sidiff.common.emf.access.impl;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import org.eclipse.emf.common.util.EList;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.InternalEObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.sidiff.common.emf.access.EMFReverseAccessor;
+import org.sidiff.common.logging.LogEvent;
+import org.sidiff.common.logging.LogUtil;
+
+/**
+ * This is a memory-compact implementation of a reverse accessor that, like the
+ * {@link EMFIndexedAccessorImpl}, creates an index that maps from each element to
+ * all elements referring to it.
+ * <p>
+ * The index uses identity hash maps instead of comparator based tree maps. Each target
+ * is mapped to a single row array holding the numbers of sources, followed by one slot
+ * per incoming reference type and a plain array of the referring sources. The references
+ * to index are determined once per {@link EClass} and read using their feature IDs.</p>
+ * <p>
+ * The index is computed once per resource and is not updated on model changes.</p>
+ */
+public class EMFCompactIndexedAccessorImpl implements EMFReverseAccessor {
+
+	private static final EReference[] NO_REFERENCES = new EReference[0];
+
+	// a--x-->b : row(b) = [{n,...}, x1, {a1,...,an}, x2, {...}, ...]
+	private final Map<Resource,Map<EObject,Object[]>> index;
+
+	// Indexed references of a class and their feature IDs
+	private final Map<EClass,EReference[]> referencesByClass;
+	private final Map<EClass,int[]> featureIDsByClass;
+
+	public EMFCompactIndexedAccessorImpl() {
+		this.index = new IdentityHashMap<Resource,Map<EObject,Object[]>>();
+		this.referencesByClass = new IdentityHashMap<EClass,EReference[]>();
+		this.featureIDsByClass = new IdentityHashMap<EClass,int[]>();
+	}
+
+	@Override
+	public Collection<EObject> getRefers(EObject target, EReference reference) {
+
+		// a--x-->b : b(x)={a1,...,an}
+		assert(target!=null) : "Cannot get refers from null";
+		assert(reference!=null) : "Cannot get refers by null reference";
+		assert(reference==null||reference.getEReferenceType().isSuperTypeOf(target.eClass())) : "Reference cannot point to ("+target.eClass().getName()+") target! ("+reference.getName()+"-->"+reference.getEReferenceType().getName()+")";
+
+		Resource resource = target.eResource();
+		if(!index.containsKey(resource)){
+			createIndex(resource); // On demand: Create Index for not indexed Resource
+		}
+
+		Object[] row = index.get(resource).get(target);
+		if(row!=null){
+			for(int i = 1; i < row.length; i += 2){
+				if(row[i]==reference){
+					return new SourceList((EObject[])row[i+1], sizes(row)[i>>1]);
+				}
+			}
+		}
+		return Collections.emptyList();
+	}
+
+	@Override
+	public void invalidate(Resource resource) {
+		if(index.remove(resource)!=null){
+			// Remove the references of the resource's (or already unloaded) elements to other resources
+			for(Map<EObject,Object[]> resourceIndex : index.values()){
+				for(Iterator<Map.Entry<EObject,Object[]>> entries = resourceIndex.entrySet().iterator(); entries.hasNext(); ){
+					Map.Entry<EObject,Object[]> entry = entries.next();
+					Object[] row = removeSources(entry.getValue(), resource);
+					if(row==null){
+						entries.remove();
+					} else if(row!=entry.getValue()){
+						entry.setValue(row);
+					}
+				}
+			}
+		}
+	}
+
+	@Override
+	public void dispose() {
+		index.clear();
+		referencesByClass.clear();
+		featureIDsByClass.clear();
+	}
+
+	private void createIndex(Resource resource) {
+
+		assert(!this.index.containsKey(resource)) : "Index already exists! "+resource.getURI();
+		final long start = System.nanoTime();
+
+		// Referenced resources are indexed subsequently instead of recursively
+		Deque<Resource> pending = new ArrayDeque<Resource>();
+		List<Resource> created = new ArrayList<Resource>();
+		index.put(resource, new IdentityHashMap<EObject,Object[]>());
+		pending.add(resource);
+
+		while(!pending.isEmpty()){
+			Resource current = pending.poll();
+			created.add(current);
+			for(TreeIterator<EObject> iterator = current.getAllContents(); iterator.hasNext(); ){
+				indexReferences((InternalEObject)iterator.next(), pending);
+			}
+		}
+
+		for(Resource indexed : created){
+			trim(index.get(indexed));
+		}
+
+		final long duration = (System.nanoTime() - start) / 1000000; // [ms]
+		LogUtil.log(LogEvent.NOTICE, "Compact index created in "+duration+" ms ("+resource.getURI()+")");
+	}
+
+	@SuppressWarnings("unchecked")
+	private void indexReferences(InternalEObject source, Deque<Resource> pending) {
+		EClass eClass = source.eClass();
+		EReference[] references = getIndexedReferences(source);
+		int[] featureIDs = featureIDsByClass.get(eClass);
+		for(int i = 0; i < references.length; i++){
+			Object value = source.eGet(featureIDs[i], true, true);
+			if(references[i].isMany()){
+				EList<EObject> targets = (EList<EObject>)value;
+				for(int j = 0, size = targets.size(); j < size; j++){
+					addIndexEntry(source, references[i], targets.get(j), pending);
+				}
+			} else if(value!=null){
+				addIndexEntry(source, references[i], (EObject)value, pending);
+			}
+		}
+	}
+
+	private EReference[] getIndexedReferences(InternalEObject source) {
+		EClass eClass = source.eClass();
+		EReference[] references = referencesByClass.get(eClass);
+		if(references==null){
+			List<EReference> indexed = new ArrayList<EReference>();
+			for(EReference reference : eClass.getEAllReferences()){
+				if(reference.getEOpposite()==null){
+					// Its a directed reference, so create index!
+					indexed.add(reference);
+				}
+			}
+			references = indexed.isEmpty() ? NO_REFERENCES : indexed.toArray(new EReference[indexed.size()]);
+			int[] featureIDs = new int[references.length];
+			for(int i = 0; i < references.length; i++){
+				featureIDs[i] = eClass.getFeatureID(references[i]);
+			}
+			referencesByClass.put(eClass, references);
+			featureIDsByClass.put(eClass, featureIDs);
+		}
+		return references;
+	}
+
+	private void addIndexEntry(EObject source, EReference reference, EObject target, Deque<Resource> pending) {
+		// a--x-->b : b(x)={a1,...,an}
+
+		Resource targetResource = target.eResource();
+		if(targetResource==null){
+			// Target in external, not loaded model: no index needed
+			return;
+		}
+
+		Map<EObject,Object[]> targetResourceIndex = index.get(targetResource);
+		if(targetResourceIndex==null){
+			// target contained in a not indexed resource
+			targetResourceIndex = new IdentityHashMap<EObject,Object[]>();
+			index.put(targetResource, targetResourceIndex);
+			pending.add(targetResource);
+		}
+
+		Object[] row = targetResourceIndex.get(target);
+		if(row==null){
+			targetResourceIndex.put(target, new Object[] { new int[] { 1 }, reference, new EObject[] { source } });
+			return;
+		}
+
+		int[] sizes = sizes(row);
+		for(int i = 1; i < row.length; i += 2){
+			if(row[i]==reference){
+				append(row, i, sizes, source);
+				return;
+			}
+		}
+
+		Object[] newRow = Arrays.copyOf(row, row.length + 2);
+		int[] newSizes = Arrays.copyOf(sizes, sizes.length + 1);
+		newSizes[sizes.length] = 1;
+		newRow[0] = newSizes;
+		newRow[row.length] = reference;
+		newRow[row.length+1] = new EObject[] { source };
+		targetResourceIndex.put(target, newRow);
+	}
+
+	private static void append(Object[] row, int slot, int[] sizes, EObject source) {
+		EObject[] sources = (EObject[])row[slot+1];
+		int size = sizes[slot>>1];
+		// All references of a source are indexed consecutively,
+		// so duplicates of non-unique references are adjacent
+		if(sources[size-1]==source){
+			return;
+		}
+		if(size==sources.length){
+			sources = Arrays.copyOf(sources, size + (size >> 1) + 1);
+			row[slot+1] = sources;
+		}
+		sources[size] = source;
+		sizes[slot>>1] = size + 1;
+	}
+
+	/**
+	 * @return the row without the sources of the given resource, <code>null</code> if the row became empty
+	 */
+	private static Object[] removeSources(Object[] row, Resource resource) {
+		int[] sizes = sizes(row);
+		List<Object> newRow = null;
+		for(int i = 1; i < row.length; i += 2){
+			EObject[] sources = (EObject[])row[i+1];
+			int size = sizes[i>>1];
+			int kept = 0;
+			EObject[] newSources = new EObject[size];
+			for(int j = 0; j < size; j++){
+				Resource sourceResource = sources[j].eResource();
+				if(sourceResource!=resource && sourceResource!=null){
+					newSources[kept++] = sources[j];
+				}
+			}
+			if(kept<size && newRow==null){
+				// Copy the unchanged slots that have been skipped so far
+				newRow = new ArrayList<Object>(Arrays.asList(row).subList(1, i));
+			}
+			if(newRow!=null && kept>0){
+				newRow.add(row[i]);
+				newRow.add(kept==size ? sources : Arrays.copyOf(newSources, kept));
+			}
+		}
+		if(newRow==null){
+			return row;
+		}
+		if(newRow.isEmpty()){
+			return null;
+		}
+		int[] newSizes = new int[newRow.size() / 2];
+		for(int i = 0; i < newSizes.length; i++){
+			newSizes[i] = ((EObject[])newRow.get(2*i+1)).length;
+		}
+		newRow.add(0, newSizes);
+		return newRow.toArray();
+	}
+
+	private static void trim(Map<EObject,Object[]> resourceIndex) {
+		for(Object[] row : resourceIndex.values()){
+			int[] sizes = sizes(row);
+			for(int i = 1; i < row.length; i += 2){
+				EObject[] sources = (EObject[])row[i+1];
+				int size = sizes[i>>1];
+				if(size<sources.length){
+					row[i+1] = Arrays.copyOf(sources, size);
+				}
+			}
+		}
+	}
+
+	private static int[] sizes(Object[] row) {
+		// Sources are stored as prefix of their array, the remaining capacity is null
+		return (int[])row[0];
+	}
+
+	/**
+	 * Unmodifiable view on the sources that were indexed when the view was created.
+	 */
+	private static class SourceList extends AbstractList<EObject> implements RandomAccess {
+
+		private final EObject[] sources;
+		private final int size;
+
+		SourceList(EObject[] sources, int size) {
+			this.sources = sources;
+			this.size = size;
+		}
+
+		@Override
+		public EObject get(int index) {
+			if(index<0 || index>=size){
+				throw new IndexOutOfBoundsException("Index: "+index+", Size: "+size);
+			}
+			return sources[index];
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+}
@@ -1,17 +1,29 @@
 package org.sidiff.common.emf.access.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
+import org.eclipse.emf.common.notify.Notification;
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.util.EContentAdapter;
+import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.sidiff.common.collections.DefaultComparators;
 import org.sidiff.common.emf.access.EMFReverseAccessor;
 import org.sidiff.common.logging.LogEvent;
@@ -20,6 +32,16 @@ import org.sidiff.common.logging.LogUtil;
 /**
  * This is an implementation of a reverse accessor that internally
  * creates an index that maps from each element to all elements referring to it. 
+ * <p>
+ * In incremental mode, an {@link EContentAdapter} is attached to every indexed resource,
+ * which applies all reference and containment changes to the index as they are notified.
+ * References to elements that are not contained in a resource yet are kept aside, and are moved
+ * to the index of the resource the elements are added to.
+ * Otherwise the index is computed once per resource and becomes stale if the model is edited.</p>
+ * <p>
+ * If a {@link ForkJoinPool} is given, the index is built in parallel: the containment trees of
+ * the resource are partitioned into subtrees, which are scanned concurrently into separate buffers
+ * that are merged afterwards. Referenced resources are indexed together in the following round.</p>
  * @author wenzel
  *
  */
@@ -28,8 +50,46 @@ public class EMFIndexedAccessorImpl implements EMFReverseAccessor{
 	// Data-structures needed for indexing a--x-->b : b(x)={a1,...,an}
 	private Map<Resource,Map<EObject,Map<EReference,Collection<EObject>>>> index = null;
 		
+	private final boolean incremental;
+	private Map<Resource,IndexMaintainer> maintainers = null;
+
+	// In incremental mode: a--x-->b for targets b that are not contained in a resource
+	private Map<EObject,Map<EReference,Collection<EObject>>> detachedIndex = null;
+
+	// Parallel index construction
+	private static final int PARTITIONS_PER_THREAD = 4;
+	private final ForkJoinPool pool;
+	private final Map<EClass,IndexedReferences> indexedReferences;
+
 	public EMFIndexedAccessorImpl(){
+		this(false);
+	}
+
+	/**
+	 * @param incremental whether the index should be kept up to date using notifications
+	 */
+	public EMFIndexedAccessorImpl(boolean incremental){
+		this(incremental, null);
+	}
+
+	/**
+	 * @param incremental whether the index should be kept up to date using notifications
+	 * @param pool the pool to build the index in parallel, <code>null</code> to build it sequentially
+	 */
+	public EMFIndexedAccessorImpl(boolean incremental, ForkJoinPool pool){
 		this.index = new HashMap<Resource, Map<EObject,Map<EReference,Collection<EObject>>>>();
+		this.incremental = incremental;
+		this.maintainers = new HashMap<Resource, IndexMaintainer>();
+		this.detachedIndex = createResourceIndex();
+		this.pool = pool;
+		this.indexedReferences = new ConcurrentHashMap<EClass, IndexedReferences>();
+	}
+
+	/**
+	 * @return <code>true</code> if the index is maintained incrementally, <code>false</code> otherwise
+	 */
+	public boolean isIncremental() {
+		return incremental;
 	}
 	
 	@SuppressWarnings("unchecked")
@@ -44,51 +104,320 @@ public class EMFIndexedAccessorImpl implements EMFReverseAccessor{
 		Collection<EObject> result = null;
 		
 		// *********************************************************************
-		if(!index.containsKey(target.eResource())){
-			createIndex(target.eResource()); // On demand: Create Index for not indexed Resource
+		Map<EObject,Map<EReference,Collection<EObject>>> resourceIndex = null;
+		if(target.eResource()==null && incremental){
+			resourceIndex = detachedIndex;
+		} else {
+			if(!index.containsKey(target.eResource())){
+				createIndex(target.eResource()); // On demand: Create Index for not indexed Resource
+			}
+			resourceIndex = this.index.get(target.eResource());
 		}
 		
-		Map<EReference,Collection<EObject>> targetIndex = this.index.get(target.eResource()).get(target);
+		Map<EReference,Collection<EObject>> targetIndex = resourceIndex.get(target);
 		if(targetIndex!=null){
 			result = targetIndex.get(reference);
+			if(result!=null && incremental){
+				// The index maintainer modifies the source set whenever the model is edited
+				result = Collections.unmodifiableCollection(new ArrayList<EObject>(result));
+			}
 		}
 		result=	(result==null)? Collections.EMPTY_LIST : result;
 
 		return result;
 	}
 	
-	@SuppressWarnings("unchecked")
-	private void createIndex(Resource resource) {
+	@Override
+	public void invalidate(Resource resource) {
+		IndexMaintainer maintainer = maintainers.remove(resource);
+		if(maintainer!=null){
+			resource.eAdapters().remove(maintainer);
+		}
+		if(index.remove(resource)!=null){
+			// Remove the references of the resource's (or already unloaded) elements to other resources
+			for(Map<EObject,Map<EReference,Collection<EObject>>> resourceIndex : index.values()){
+				removeSources(resource, resourceIndex);
+			}
+			removeSources(resource, detachedIndex);
+		}
+	}
+
+	private static void removeSources(Resource resource, Map<EObject,Map<EReference,Collection<EObject>>> resourceIndex) {
+		for(Iterator<Map<EReference,Collection<EObject>>> targets = resourceIndex.values().iterator(); targets.hasNext(); ){
+			Map<EReference,Collection<EObject>> referenceSourceIndex = targets.next();
+			for(Iterator<Collection<EObject>> sourceSets = referenceSourceIndex.values().iterator(); sourceSets.hasNext(); ){
+				Collection<EObject> sourceSet = sourceSets.next();
+				sourceSet.removeIf(source -> source.eResource()==resource || source.eResource()==null);
+				if(sourceSet.isEmpty()){
+					sourceSets.remove();
+				}
+			}
+			if(referenceSourceIndex.isEmpty()){
+				targets.remove();
+			}
+		}
+	}
 		
+	@Override
+	public void dispose() {
+		for(Map.Entry<Resource,IndexMaintainer> entry : maintainers.entrySet()){
+			entry.getKey().eAdapters().remove(entry.getValue());
+		}
+		maintainers.clear();
+		index.clear();
+		detachedIndex.clear();
+	}
+
+	private void createIndex(Resource resource) {
+
 		assert(!this.index.containsKey(resource)) : "Index already exists! "+resource.getURI();
+		if(pool!=null){
+			createIndexParallel(resource);
+			return;
+		}
 		final long start = System.nanoTime();
 
 		// ******************* Compute Index **************************************************
-		Map<EObject, Map<EReference,Collection<EObject>>> newMap = new TreeMap<EObject, Map<EReference,Collection<EObject>>>(DefaultComparators.getHashComparator(EObject.class));
+		Map<EObject, Map<EReference,Collection<EObject>>> newMap = createResourceIndex();
 		this.index.put(resource, newMap);
 
 		TreeIterator<EObject> resourceIterator = resource.getAllContents();
 		while(resourceIterator.hasNext()){
-			EObject source = resourceIterator.next();
-			for(EReference reference : source.eClass().getEAllReferences()){
-				if(reference.getEOpposite()==null){
-					// Its a directed reference, so create index!
-					if(reference.isMany()){
-						for(EObject target : (EList<EObject>)source.eGet(reference)){
-							addIndexEntry(source,reference,target,(target.eResource()==resource)? newMap : null);
-						}
-					} else {
-						EObject target = (EObject)source.eGet(reference);
-						if(target!=null){
-							addIndexEntry(source, reference, target,(target.eResource()==resource)? newMap : null);
-						}
-					}
+			indexReferences(resourceIterator.next(), resource, newMap);
+		}
+
+		attachMaintainer(resource);
+
+		final long duration = (System.nanoTime() - start) / 1000000; // [ms]
+		LogUtil.log(LogEvent.NOTICE, "Index created in "+duration+" ms ("+resource.getURI()+")");
+	}
+
+	private void createIndexParallel(Resource resource) {
+
+		final long start = System.nanoTime();
+
+		List<Resource> pending = new ArrayList<Resource>();
+		this.index.put(resource, createResourceIndex());
+		pending.add(resource);
+
+		while(!pending.isEmpty()){
+			List<Resource> current = pending;
+			pending = new ArrayList<Resource>();
+
+			// Scan the partitions of all current resources concurrently
+			List<Callable<ReferenceBuffer>> tasks = new ArrayList<Callable<ReferenceBuffer>>();
+			for(Resource currentResource : current){
+				partition(currentResource, tasks);
+			}
+			List<ReferenceBuffer> buffers = new ArrayList<ReferenceBuffer>();
+			for(Future<ReferenceBuffer> future : pool.invokeAll(tasks)){
+				try {
+					buffers.add(future.get());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Index creation was interrupted", e);
+				} catch (ExecutionException e) {
+					throw new IllegalStateException("Index creation failed", e.getCause());
 				}
 			}
+
+			// Merge sequentially, resources referenced for the first time are indexed in the next round
+			for(ReferenceBuffer buffer : buffers){
+				merge(buffer, pending);
+			}
+			for(Resource currentResource : current){
+				attachMaintainer(currentResource);
+			}
 		}
-		
+
 		final long duration = (System.nanoTime() - start) / 1000000; // [ms]
-		LogUtil.log(LogEvent.NOTICE, "Index created in "+duration+" ms ("+resource.getURI()+")");
+		LogUtil.log(LogEvent.NOTICE, "Index created in parallel in "+duration+" ms ("+resource.getURI()+")");
+	}
+
+	/**
+	 * Splits the containment tree of the resource into subtrees, which are grouped into contiguous chunks,
+	 * one task per chunk. Elements above the subtrees are scanned as single elements.
+	 */
+	private void partition(Resource resource, List<Callable<ReferenceBuffer>> tasks) {
+		final int partitions = pool.getParallelism() * PARTITIONS_PER_THREAD;
+		final List<EObject> singles = new ArrayList<EObject>();
+		List<EObject> frontier = new ArrayList<EObject>(resource.getContents());
+		while(!frontier.isEmpty() && frontier.size() < partitions){
+			List<EObject> children = new ArrayList<EObject>();
+			for(EObject object : frontier){
+				singles.add(object);
+				children.addAll(object.eContents());
+			}
+			frontier = children;
+		}
+		// The frontier is empty or has at least one subtree per partition, wide trees have many more
+		for(int chunk = 0; chunk < partitions && !frontier.isEmpty(); chunk++){
+			final List<EObject> roots = frontier.subList(chunkStart(chunk, frontier.size(), partitions),
+					chunkStart(chunk + 1, frontier.size(), partitions));
+			tasks.add(() -> scan(EcoreUtil.<EObject>getAllContents(roots, false)));
+		}
+		if(!singles.isEmpty()){
+			tasks.add(() -> scan(singles.iterator()));
+		}
+	}
+
+	private static int chunkStart(int chunk, int size, int chunks) {
+		return (int)((long)chunk * size / chunks);
+	}
+
+	/**
+	 * Collects the stored references of the given objects without resolving proxies,
+	 * i.e. without modifying the model, so that disjoint subtrees can be scanned concurrently.
+	 */
+	private ReferenceBuffer scan(Iterator<EObject> objects) {
+		ReferenceBuffer buffer = new ReferenceBuffer();
+		while(objects.hasNext()){
+			EObject source = objects.next();
+			if(source.eIsProxy()){
+				continue;
+			}
+			IndexedReferences references = getIndexedReferences(source.eClass());
+			for(EReference reference : references.stored){
+				Object value = source.eGet(reference, false);
+				if(reference.isMany()){
+					List<?> targets = (List<?>)value;
+					for(int i = 0, size = targets.size(); i < size; i++){
+						buffer.add(source, reference, (EObject)targets.get(i));
+					}
+				} else if(value!=null){
+					buffer.add(source, reference, (EObject)value);
+				}
+			}
+			if(references.computed.length > 0){
+				buffer.computed.add(source);
+			}
+		}
+		return buffer;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void merge(ReferenceBuffer buffer, List<Resource> pending) {
+		for(int i = 0, size = buffer.sources.size(); i < size; i++){
+			EObject source = buffer.sources.get(i);
+			EObject target = buffer.targets.get(i);
+			if(target.eIsProxy()){
+				target = EcoreUtil.resolve(target, source);
+			}
+			addPendingIndexEntry(source, buffer.references.get(i), target, pending);
+		}
+		// Derived and volatile references are computed sequentially
+		for(EObject source : buffer.computed){
+			for(EReference reference : getIndexedReferences(source.eClass()).computed){
+				if(reference.isMany()){
+					for(EObject target : (EList<EObject>)source.eGet(reference)){
+						addPendingIndexEntry(source, reference, target, pending);
+					}
+				} else {
+					EObject target = (EObject)source.eGet(reference);
+					if(target!=null){
+						addPendingIndexEntry(source, reference, target, pending);
+					}
+				}
+			}
+		}
+	}
+
+	private void addPendingIndexEntry(EObject source, EReference reference, EObject target, List<Resource> pending) {
+		Resource targetResource = target.eResource();
+		if(targetResource!=null && !this.index.containsKey(targetResource)){
+			// target contained in a not indexed resource
+			this.index.put(targetResource, createResourceIndex());
+			pending.add(targetResource);
+		}
+		Map<EObject,Map<EReference,Collection<EObject>>> targetResourceIndex = (targetResource!=null)? this.index.get(targetResource) : getDetachedIndex(target);
+		if(targetResourceIndex!=null){
+			addIndexEntry(source, reference, target, targetResourceIndex);
+		}
+	}
+
+	private IndexedReferences getIndexedReferences(EClass eClass) {
+		IndexedReferences references = indexedReferences.get(eClass);
+		if(references==null){
+			// The meta-model is not thread-safe, so determine the references of a class under lock
+			synchronized (indexedReferences) {
+				references = indexedReferences.get(eClass);
+				if(references==null){
+					references = new IndexedReferences(eClass);
+					indexedReferences.put(eClass, references);
+				}
+			}
+		}
+		return references;
+	}
+
+	private static Map<EObject, Map<EReference,Collection<EObject>>> createResourceIndex() {
+		return new TreeMap<EObject, Map<EReference,Collection<EObject>>>(DefaultComparators.getHashComparator(EObject.class));
+	}
+
+	private void attachMaintainer(Resource resource) {
+		if(incremental){
+			IndexMaintainer maintainer = new IndexMaintainer(resource);
+			maintainers.put(resource, maintainer);
+			resource.eAdapters().add(maintainer);
+
+			// Targets that were added to the resource before it was indexed
+			Map<EObject,Map<EReference,Collection<EObject>>> resourceIndex = this.index.get(resource);
+			for(EObject target : new ArrayList<EObject>(detachedIndex.keySet())){
+				if(target.eResource()==resource){
+					moveIndexEntries(target, detachedIndex, resourceIndex);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the index of the targets that are not contained in a resource, if the index is incremental.
+	 * Unresolved proxies are not indexed, they are replaced when they are resolved.
+	 */
+	private Map<EObject,Map<EReference,Collection<EObject>>> getDetachedIndex(EObject target) {
+		return (incremental && !target.eIsProxy())? detachedIndex : null;
+	}
+
+	private static boolean isIndexed(EReference reference) {
+		// Only directed references are indexed, bidirectional ones can be navigated directly
+		return reference.getEOpposite()==null;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void indexReferences(EObject source, Resource resource, Map<EObject, Map<EReference,Collection<EObject>>> resourceIndex) {
+		for(EReference reference : source.eClass().getEAllReferences()){
+			if(isIndexed(reference)){
+				// Its a directed reference, so create index!
+				if(reference.isMany()){
+					for(EObject target : (EList<EObject>)source.eGet(reference)){
+						addIndexEntry(source,reference,target,(target.eResource()==resource)? resourceIndex : null);
+					}
+				} else {
+					EObject target = (EObject)source.eGet(reference);
+					if(target!=null){
+						addIndexEntry(source, reference, target,(target.eResource()==resource)? resourceIndex : null);
+					}
+				}
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void unindexReferences(EObject source) {
+		for(EReference reference : source.eClass().getEAllReferences()){
+			if(isIndexed(reference)){
+				if(reference.isMany()){
+					for(EObject target : (EList<EObject>)source.eGet(reference)){
+						removeIndexEntry(source, reference, target);
+					}
+				} else {
+					EObject target = (EObject)source.eGet(reference);
+					if(target!=null){
+						removeIndexEntry(source, reference, target);
+					}
+				}
+			}
+		}
 	}
 	
 	private void addIndexEntry(EObject source,EReference reference,EObject target,
@@ -102,7 +431,7 @@ public class EMFIndexedAccessorImpl implements EMFReverseAccessor{
 				// target contained in a not indexed resource 
 				createIndex(target.eResource());
 			} 
-			targetResourceIndex = this.index.get(target.eResource());
+			targetResourceIndex = (target.eResource()!=null)? this.index.get(target.eResource()) : getDetachedIndex(target);
 		}
  
 		// Wenn target in externem, nicht geladenen Modell liegt, muss auch kein Index aufgebaut werden.  
@@ -123,4 +452,241 @@ public class EMFIndexedAccessorImpl implements EMFReverseAccessor{
 		
 	}
 	
+	private void removeIndexEntry(EObject source, EReference reference, EObject target) {
+		Map<EObject,Map<EReference,Collection<EObject>>> targetResourceIndex = (target.eResource()!=null)? this.index.get(target.eResource()) : detachedIndex;
+		if(targetResourceIndex==null || !removeIndexEntry(source, reference, target, targetResourceIndex)){
+			// The target has been detached from the resource the source was indexed in
+			for(Map<EObject,Map<EReference,Collection<EObject>>> resourceIndex : this.index.values()){
+				removeIndexEntry(source, reference, target, resourceIndex);
+			}
+			removeIndexEntry(source, reference, target, detachedIndex);
+		}
+	}
+
+	private static boolean removeIndexEntry(EObject source, EReference reference, EObject target,
+			Map<EObject,Map<EReference,Collection<EObject>>> resourceIndex) {
+		Map<EReference,Collection<EObject>> referenceSourceIndex = resourceIndex.get(target);
+		if(referenceSourceIndex!=null){
+			Collection<EObject> sourceSet = referenceSourceIndex.get(reference);
+			if(sourceSet!=null && sourceSet.remove(source)){
+				if(sourceSet.isEmpty()){
+					referenceSourceIndex.remove(reference);
+					if(referenceSourceIndex.isEmpty()){
+						resourceIndex.remove(target);
+					}
+				}
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Moves the index entries of a target that was moved from another indexed resource,
+	 * or that was referenced before it was added to a resource.
+	 */
+	private void relocateIndexEntries(EObject target, Map<EObject,Map<EReference,Collection<EObject>>> resourceIndex) {
+		for(Map<EObject,Map<EReference,Collection<EObject>>> otherIndex : this.index.values()){
+			if(otherIndex!=resourceIndex){
+				moveIndexEntries(target, otherIndex, resourceIndex);
+			}
+		}
+		moveIndexEntries(target, detachedIndex, resourceIndex);
+	}
+
+	private void moveIndexEntries(EObject target, Map<EObject,Map<EReference,Collection<EObject>>> fromIndex,
+			Map<EObject,Map<EReference,Collection<EObject>>> toIndex) {
+		Map<EReference,Collection<EObject>> referenceSourceIndex = fromIndex.remove(target);
+		if(referenceSourceIndex!=null){
+			for(Map.Entry<EReference,Collection<EObject>> entry : referenceSourceIndex.entrySet()){
+				for(EObject source : entry.getValue()){
+					addIndexEntry(source, entry.getKey(), target, toIndex);
+				}
+			}
+		}
+	}
+
+	private static boolean refers(EObject source, EReference reference, EObject target) {
+		if(reference.isMany()){
+			return ((EList<?>)source.eGet(reference)).contains(target);
+		}
+		return source.eGet(reference)==target;
+	}
+
+	/**
+	 * The indexed references of a class, split into stored references
+	 * and references whose values are computed on access.
+	 */
+	private static class IndexedReferences {
+
+		final EReference[] stored;
+		final EReference[] computed;
+
+		IndexedReferences(EClass eClass) {
+			List<EReference> stored = new ArrayList<EReference>();
+			List<EReference> computed = new ArrayList<EReference>();
+			for(EReference reference : eClass.getEAllReferences()){
+				if(isIndexed(reference)){
+					if(reference.isDerived() || reference.isVolatile()){
+						computed.add(reference);
+					} else {
+						stored.add(reference);
+					}
+				}
+			}
+			this.stored = stored.toArray(new EReference[stored.size()]);
+			this.computed = computed.toArray(new EReference[computed.size()]);
+		}
+	}
+
+	/**
+	 * Buffer of the references found by one scan task: sources[i]--references[i]-->targets[i]
+	 */
+	private static class ReferenceBuffer {
+
+		final List<EObject> sources = new ArrayList<EObject>();
+		final List<EReference> references = new ArrayList<EReference>();
+		final List<EObject> targets = new ArrayList<EObject>();
+
+		// Sources with derived or volatile references
+		final List<EObject> computed = new ArrayList<EObject>();
+
+		void add(EObject source, EReference reference, EObject target) {
+			sources.add(source);
+			references.add(reference);
+			targets.add(target);
+		}
+	}
+
+	/**
+	 * Content adapter that keeps the index of one resource up to date.
+	 */
+	private class IndexMaintainer extends EContentAdapter {
+
+		private final Resource resource;
+
+		IndexMaintainer(Resource resource) {
+			this.resource = resource;
+		}
+
+		@Override
+		public void notifyChanged(Notification notification) {
+			super.notifyChanged(notification);
+
+			Object notifier = notification.getNotifier();
+			if(notifier instanceof Resource){
+				// Contents are removed while unloading, the index is invalidated afterwards
+				if(notification.getFeatureID(Resource.class)==Resource.RESOURCE__CONTENTS && !notification.isTouch() && resource.isLoaded()){
+					updateContents(notification);
+				}
+			} else if(notifier instanceof EObject && notification.getFeature() instanceof EReference){
+				EReference reference = (EReference)notification.getFeature();
+				if(notification.getEventType()==Notification.RESOLVE){
+					if(isIndexed(reference)){
+						removeReference((EObject)notifier, reference, notification.getOldValue());
+						addReference((EObject)notifier, reference, notification.getNewValue());
+					}
+				} else if(!notification.isTouch()){
+					if(reference.isContainment()){
+						updateContents(notification);
+					}
+					if(isIndexed(reference)){
+						updateReference((EObject)notifier, reference, notification);
+					}
+				}
+			}
+		}
+
+		private void updateReference(EObject source, EReference reference, Notification notification) {
+			switch(notification.getEventType()){
+			case Notification.SET:
+			case Notification.UNSET:
+				removeReference(source, reference, notification.getOldValue());
+				addReference(source, reference, notification.getNewValue());
+				break;
+			case Notification.ADD:
+				addReference(source, reference, notification.getNewValue());
+				break;
+			case Notification.ADD_MANY:
+				for(Object target : (Collection<?>)notification.getNewValue()){
+					addReference(source, reference, target);
+				}
+				break;
+			case Notification.REMOVE:
+				removeReference(source, reference, notification.getOldValue());
+				break;
+			case Notification.REMOVE_MANY:
+				for(Object target : (Collection<?>)notification.getOldValue()){
+					removeReference(source, reference, target);
+				}
+				break;
+			default:
+				// MOVE does not change the set of referenced objects
+				break;
+			}
+		}
+
+		private void addReference(EObject source, EReference reference, Object target) {
+			if(target instanceof EObject){
+				addIndexEntry(source, reference, (EObject)target, null);
+			}
+		}
+
+		private void removeReference(EObject source, EReference reference, Object target) {
+			// Non-unique references may still contain another occurrence of the target
+			if(target instanceof EObject && !refers(source, reference, (EObject)target)){
+				removeIndexEntry(source, reference, (EObject)target);
+			}
+		}
+
+		private void updateContents(Notification notification) {
+			switch(notification.getEventType()){
+			case Notification.SET:
+			case Notification.UNSET:
+				removeContents(notification.getOldValue());
+				addContents(notification.getNewValue());
+				break;
+			case Notification.ADD:
+				addContents(notification.getNewValue());
+				break;
+			case Notification.ADD_MANY:
+				for(Object object : (Collection<?>)notification.getNewValue()){
+					addContents(object);
+				}
+				break;
+			case Notification.REMOVE:
+				removeContents(notification.getOldValue());
+				break;
+			case Notification.REMOVE_MANY:
+				for(Object object : (Collection<?>)notification.getOldValue()){
+					removeContents(object);
+				}
+				break;
+			default:
+				break;
+			}
+		}
+
+		private void addContents(Object root) {
+			if(root instanceof EObject && ((EObject)root).eResource()==resource){
+				Map<EObject,Map<EReference,Collection<EObject>>> resourceIndex = index.get(resource);
+				relocateIndexEntries((EObject)root, resourceIndex);
+				indexReferences((EObject)root, resource, resourceIndex);
+				for(TreeIterator<EObject> iterator = ((EObject)root).eAllContents(); iterator.hasNext(); ){
+					EObject object = iterator.next();
+					relocateIndexEntries(object, resourceIndex);
+					indexReferences(object, resource, resourceIndex);
+				}
+			}
+		}
+
+		private void removeContents(Object root) {
+			if(root instanceof EObject){
+				unindexReferences((EObject)root);
+				for(TreeIterator<EObject> iterator = ((EObject)root).eAllContents(); iterator.hasNext(); ){
+					unindexReferences(iterator.next());
+				}
+			}
+		}
+	}
 }
@@ -0,0 +1,112 @@
+package org.sidiff.common.emf.access.impl;
+
+import java.util.Collection;
+
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.notify.Notifier;
+import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.sidiff.common.emf.access.EMFReverseAccessor;
+
+/**
+ * Adapter that holds the reverse accessor of a resource set (or a single resource
+ * without resource set), so that the index lives exactly as long as its scope.
+ * The adapter is also attached to all resources of the resource set. Resources that
+ * are unloaded or removed from the resource set are invalidated in the reverse accessor.
+ * Removing the adapter from its scope disposes the reverse accessor.
+ */
+public class EMFReverseAccessorAdapter extends AdapterImpl {
+
+	private final EMFReverseAccessor accessor;
+	private Notifier scope;
+
+	public EMFReverseAccessorAdapter(EMFReverseAccessor accessor) {
+		this.accessor = accessor;
+	}
+
+	public EMFReverseAccessor getAccessor() {
+		return accessor;
+	}
+
+	@Override
+	public Notifier getTarget() {
+		return scope;
+	}
+
+	@Override
+	public void setTarget(Notifier newTarget) {
+		if(scope==null){
+			scope = newTarget;
+			if(scope instanceof ResourceSet){
+				for(Resource resource : ((ResourceSet)scope).getResources()){
+					resource.eAdapters().add(this);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void unsetTarget(Notifier oldTarget) {
+		if(oldTarget==scope){
+			scope = null;
+			if(oldTarget instanceof ResourceSet){
+				for(Resource resource : ((ResourceSet)oldTarget).getResources()){
+					resource.eAdapters().remove(this);
+				}
+			}
+			accessor.dispose();
+		}
+	}
+
+	@Override
+	public void notifyChanged(Notification notification) {
+		Object notifier = notification.getNotifier();
+		if(notifier instanceof ResourceSet){
+			if(notification.getFeatureID(ResourceSet.class)==ResourceSet.RESOURCE_SET__RESOURCES){
+				switch(notification.getEventType()){
+				case Notification.ADD:
+					addResource(notification.getNewValue());
+					break;
+				case Notification.ADD_MANY:
+					for(Object resource : (Collection<?>)notification.getNewValue()){
+						addResource(resource);
+					}
+					break;
+				case Notification.REMOVE:
+					removeResource(notification.getOldValue());
+					break;
+				case Notification.REMOVE_MANY:
+					for(Object resource : (Collection<?>)notification.getOldValue()){
+						removeResource(resource);
+					}
+					break;
+				default:
+					break;
+				}
+			}
+		} else if(notifier instanceof Resource){
+			if(notification.getFeatureID(Resource.class)==Resource.RESOURCE__IS_LOADED && !notification.getNewBooleanValue()){
+				accessor.invalidate((Resource)notifier);
+			}
+		}
+	}
+
+	private void addResource(Object resource) {
+		if(resource instanceof Resource){
+			((Resource)resource).eAdapters().add(this);
+		}
+	}
+
+	private void removeResource(Object resource) {
+		if(resource instanceof Resource){
+			((Resource)resource).eAdapters().remove(this);
+			accessor.invalidate((Resource)resource);
+		}
+	}
+
+	@Override
+	public boolean isAdapterForType(Object type) {
+		return type == EMFReverseAccessorAdapter.class;
+	}
+}
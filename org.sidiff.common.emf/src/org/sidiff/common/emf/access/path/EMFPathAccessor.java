@@ -1,5 +1,10 @@
 package org.sidiff.common.emf.access.path;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
 
@@ -18,6 +23,13 @@ public interface EMFPathAccessor {
 	 */
 	public EMFPath translatePath(EClass eClass, String path);
 	
+	/**
+	 * Removes all cached translated paths, if the engine caches them,
+	 * e.g. after meta-models have been unloaded.
+	 */
+	public default void clearPathCache() {
+	}
+	
 	/**
 	 * Trys to infer the result type of a given EMF-Path.
 	 * The Method may returns null if no common type could be found or the
@@ -39,4 +51,36 @@ public interface EMFPathAccessor {
 	 */
 	public <T> T evaluatePath(EObject context,EMFPath path,Class<? extends PathEvaluationStrategy<T>> strategy);
 	
+	/**
+	 * Evaluates the Path on a given Node and passes each addressed object to the consumer,
+	 * in the order of the {@link TargetEvaluationStrategy}. Engines may stream the objects
+	 * without creating intermediate results.
+	 * 
+	 * @param context The context node the evaluation starts.
+	 * @param path Handle to a translated path expression.
+	 * @param consumer Receives the objects addressed by the path.
+	 */
+	public default void evaluatePath(EObject context,EMFPath path,Consumer<? super EObject> consumer) {
+		evaluatePath(context, path, TargetEvaluationStrategy.class).forEach(consumer);
+	}
+	
+	/**
+	 * Evaluates the Path on each of the given Nodes using the {@link TargetEvaluationStrategy}.
+	 * Engines may evaluate the path set-at-a-time, so that nodes which are reached by several
+	 * contexts are evaluated only once.
+	 * 
+	 * @param contexts The context nodes the evaluations start.
+	 * @param path Handle to a translated path expression.
+	 * @param parallel Whether the engine may evaluate the path in parallel. The model must not be modified meanwhile.
+	 * 
+	 * @return The objects addressed by the path, by context node in the order of the given contexts.
+	 */
+	public default Map<EObject,Collection<EObject>> evaluatePath(Collection<? extends EObject> contexts,EMFPath path,boolean parallel) {
+		Map<EObject,Collection<EObject>> result = new LinkedHashMap<EObject,Collection<EObject>>();
+		for(EObject context : contexts){
+			result.put(context, evaluatePath(context, path, TargetEvaluationStrategy.class));
+		}
+		return result;
+	}
+	
 }
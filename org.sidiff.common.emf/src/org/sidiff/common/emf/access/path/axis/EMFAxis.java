@@ -1,9 +1,12 @@
 package org.sidiff.common.emf.access.path.axis;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.function.Consumer;
 
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.util.EcoreUtil;
 import org.sidiff.common.emf.access.path.impl.EMFPathStepImpl;
 
 public abstract class EMFAxis {
@@ -39,5 +42,57 @@ public abstract class EMFAxis {
 	 */
 	public abstract Collection<EObject> evaluateAxis(Collection<EObject> contextObjects);
 	
+	/**
+	 * Passes each object regarding the concrete axis and the given context object
+	 * to the consumer, without creating an intermediate collection.
+	 * This call is performance critical! Axes should override the default implementation,
+	 * which delegates to {@link #evaluateAxis(Collection)}.
+	 * 
+	 * @param contextObject
+	 * @param consumer Receives the Step/Axis result regarding the axis semantics.
+	 */
+	public void evaluateAxis(EObject contextObject, Consumer<? super EObject> consumer) {
+		for(EObject object : evaluateAxis(Collections.singletonList(contextObject))){
+			consumer.accept(object);
+		}
+	}
+	
+	/**
+	 * Passes each object regarding the concrete axis and the given context object to the consumer
+	 * like {@link #evaluateAxis(EObject, Consumer)}, but without resolving proxies, i.e. without
+	 * loading resources. The passed proxies are resolved by the calling thread afterwards, using
+	 * {@link #resolve(EObject, EObject)}. Axes that are {@link #isThreadSafe() thread-safe} must override
+	 * the default implementation, which delegates to {@link #evaluateAxis(EObject, Consumer)}.
+	 * 
+	 * @param contextObject
+	 * @param consumer Receives the Step/Axis result regarding the axis semantics, possibly including proxies.
+	 */
+	public void evaluateAxisUnresolved(EObject contextObject, Consumer<? super EObject> consumer) {
+		evaluateAxis(contextObject, consumer);
+	}
+	
+	/**
+	 * Resolves an object that was passed by {@link #evaluateAxisUnresolved(EObject, Consumer)}.
+	 * 
+	 * @param contextObject the context object the object was reached from
+	 * @param object the object, possibly a proxy
+	 * @return the resolved object, or the proxy itself if it cannot be resolved
+	 */
+	public EObject resolve(EObject contextObject, EObject object) {
+		return object.eIsProxy() ? EcoreUtil.resolve(object, contextObject) : object;
+	}
+	
+	/**
+	 * Whether the axis can be evaluated by several threads at once using
+	 * {@link #evaluateAxisUnresolved(EObject, Consumer)}, provided that the model
+	 * is not modified meanwhile. Axes that rely on lazily built, shared state (like the reverse
+	 * index used for incoming references) must not be evaluated concurrently.
+	 * 
+	 * @return <code>true</code> if the axis can be evaluated concurrently, <code>false</code> by default.
+	 */
+	public boolean isThreadSafe() {
+		return false;
+	}
+	
 
 }
@@ -1,6 +1,7 @@
 package org.sidiff.common.emf.access.path.axis;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 import org.eclipse.emf.ecore.*;
 import org.sidiff.common.emf.access.EMFModelAccess;
@@ -51,6 +52,17 @@ public class Incoming extends EMFAxis {
 		return result;
 	}
 
+	@Override
+	public void evaluateAxis(EObject contextObject, Consumer<? super EObject> consumer) {
+		
+		assert(this.fromReference.getEReferenceType().isSuperTypeOf(contextObject.eClass())) :
+			"Illegal Argument! "+contextObject+" is not a instance of "+this.fromReference.getEReferenceType().getName();
+		
+		for(EObject object : EMFModelAccess.getRefers(contextObject, fromReference)){
+			consumer.accept(object);
+		}
+	}
+
 	@Override
 	public EClass resultType() {
 		// This axis cannot determ a result type. The resulttype is implied by the Step!
@@ -1,9 +1,11 @@
 package org.sidiff.common.emf.access.path.axis;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 import org.eclipse.emf.common.util.EList;
 import org.eclipse.emf.ecore.*;
+import org.eclipse.emf.ecore.util.InternalEList;
 import org.sidiff.common.emf.access.path.impl.EMFPathStepImpl;
 import org.sidiff.common.exceptions.SiDiffRuntimeException;
 
@@ -57,6 +59,51 @@ public class Outgoing extends EMFAxis {
 		return result;
 	}
 
+	@SuppressWarnings("unchecked")
+	@Override
+	public void evaluateAxis(EObject contextObject, Consumer<? super EObject> consumer) {
+		
+		assert(this.toReference.getEContainingClass().isSuperTypeOf(contextObject.eClass())) :
+			"Illegal Argument! "+contextObject+" is not a instance of "+this.toReference.getEContainingClass().getName();
+		
+		if(toReference.isMany()){
+			EList<EObject> values = (EList<EObject>)contextObject.eGet(toReference);
+			for(int i = 0, size = values.size(); i < size; i++){
+				consumer.accept(values.get(i));
+			}
+		} else {
+			EObject value = (EObject)contextObject.eGet(toReference);
+			assert (value != null || !toReference.isRequired()): toReference + " is required but " + contextObject + " contains no value!";
+			if (value != null){
+				consumer.accept(value);
+			}
+		}
+	}
+
+	@Override
+	public void evaluateAxisUnresolved(EObject contextObject, Consumer<? super EObject> consumer) {
+		
+		// Resolving a proxy may load a resource into the resource set, which is not thread-safe
+		Object value = contextObject.eGet(toReference, false);
+		if(value instanceof InternalEList){
+			InternalEList<?> values = (InternalEList<?>)value;
+			for(int i = 0, size = values.size(); i < size; i++){
+				consumer.accept((EObject)values.basicGet(i));
+			}
+		} else if(toReference.isMany()){
+			for(Object object : (Collection<?>)value){
+				consumer.accept((EObject)object);
+			}
+		} else if(value != null){
+			consumer.accept((EObject)value);
+		}
+	}
+
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	@Override
 	public EClass resultType(){		
 		return this.toReference.getEReferenceType();
@@ -1,9 +1,11 @@
 package org.sidiff.common.emf.access.path.axis;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.InternalEObject;
 import org.sidiff.common.emf.access.path.impl.EMFPathStepImpl;
 
 public class Parent extends EMFAxis {
@@ -24,6 +26,29 @@ public class Parent extends EMFAxis {
 		return result;
 	}
 
+	@Override
+	public void evaluateAxis(EObject contextObject, Consumer<? super EObject> consumer) {
+		
+		if(contextObject.eContainer()!=null){
+			consumer.accept(contextObject.eContainer());
+		}
+	}
+
+	@Override
+	public void evaluateAxisUnresolved(EObject contextObject, Consumer<? super EObject> consumer) {
+		
+		// eContainer() would resolve a container proxy
+		EObject container = ((InternalEObject)contextObject).eInternalContainer();
+		if(container!=null){
+			consumer.accept(container);
+		}
+	}
+
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	@Override
 	public void initAxis(EMFPathStepImpl step) {
 	}
@@ -1,6 +1,7 @@
 package org.sidiff.common.emf.access.path.axis;
 
 import java.util.Collection;
+import java.util.function.Consumer;
 
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
@@ -23,6 +24,17 @@ public class Self extends EMFAxis {
 		return contextObjects;
 	}
 
+	@Override
+	public void evaluateAxis(EObject contextObject, Consumer<? super EObject> consumer) {
+		
+		consumer.accept(contextObject);
+	}
+
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
 	@Override
 	public void initAxis(EMFPathStepImpl step) {
 		
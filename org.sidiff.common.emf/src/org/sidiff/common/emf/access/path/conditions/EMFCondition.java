@@ -3,6 +3,7 @@ package org.sidiff.common.emf.access.path.conditions;
 import java.util.function.Predicate;
 
 import org.eclipse.emf.ecore.EObject;
+import org.sidiff.common.emf.access.path.impl.EMFPathEvaluationContext;
 import org.sidiff.common.emf.access.path.impl.EMFPathStepImpl;
 
 /**
@@ -21,7 +22,24 @@ public abstract class EMFCondition implements Predicate<EObject> {
 	
 	public abstract void initCondition(EMFPathStepImpl step);
 	
+	/**
+	 * Tests the item. Conditions which depend on the results of the ancestor steps
+	 * get them from the {@link EMFPathEvaluationContext#getDefault() default context} of the current thread.
+	 */
 	@Override
 	public abstract boolean test(EObject item);
 
+	/**
+	 * Tests the item during the given evaluation of the path. Conditions which
+	 * depend on the results of the ancestor steps get them from the evaluation context.
+	 * By default, only the item is tested.
+	 * 
+	 * @param item the item to test
+	 * @param evaluation the context of the current evaluation of the path
+	 * @return <code>true</code> if the item fulfills the condition
+	 */
+	public boolean test(EObject item, EMFPathEvaluationContext evaluation) {
+		return test(item);
+	}
+
 }
@@ -1,6 +1,7 @@
 package org.sidiff.common.emf.access.path.conditions;
 
 import org.eclipse.emf.ecore.EObject;
+import org.sidiff.common.emf.access.path.impl.EMFPathEvaluationContext;
 import org.sidiff.common.emf.access.path.impl.EMFPathStepImpl;
 import org.sidiff.common.exceptions.SiDiffRuntimeException;
 import org.sidiff.common.logging.LogEvent;
@@ -38,8 +39,14 @@ public class NoBackstep extends EMFCondition {
 	@Override
 	public boolean test(EObject item) {
 		
+		return test(item, EMFPathEvaluationContext.getDefault());
+	}
+
+	@Override
+	public boolean test(EObject item, EMFPathEvaluationContext evaluation) {
+		
 		if(lastStep!=null){
-			return !lastStep.result().contains(item);
+			return !evaluation.getResult(lastStep).contains(item);
 		} 
 		return true;
 	}
@@ -4,6 +4,7 @@ import java.util.Collection;
 import java.util.LinkedList;
 
 import org.eclipse.emf.ecore.EObject;
+import org.sidiff.common.emf.access.path.impl.EMFPathEvaluationContext;
 import org.sidiff.common.emf.access.path.impl.EMFPathStepImpl;
 import org.sidiff.common.exceptions.SiDiffRuntimeException;
 import org.sidiff.common.logging.LogEvent;
@@ -49,8 +50,14 @@ public class NoCycle extends EMFCondition {
 	@Override
 	public boolean test(EObject item) {
 		
+		return test(item, EMFPathEvaluationContext.getDefault());
+	}
+
+	@Override
+	public boolean test(EObject item, EMFPathEvaluationContext evaluation) {
+		
 		for(EMFPathStepImpl step : this.possibleCyclesOnPath){
-			if(step.result().contains(item)) return false;
+			if(evaluation.getResult(step).contains(item)) return false;
 		}
 		return true;
 	}
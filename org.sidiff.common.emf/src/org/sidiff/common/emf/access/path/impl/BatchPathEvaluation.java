@@ -0,0 +1,108 @@
+package org.sidiff.common.emf.access.path.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.emf.ecore.EObject;
+
+/**
+ * Evaluates a path on many context objects set-at-a-time, i.e. step by step on the distinct
+ * nodes reached by all contexts. Each node is evaluated only once per step, no matter by how
+ * many contexts it is reached, so that e.g. reverse index lookups are shared between the contexts.
+ * The targets of each context are the same as those of the {@link TargetEvaluationStrategyImpl}.
+ * <p>
+ * Paths with conditions depend on the step results of the single contexts, so they
+ * are evaluated context by context.</p>
+ */
+class BatchPathEvaluation {
+
+	private final EMFPathImpl path;
+	private final boolean parallel;
+
+	// The nodes reached by each node of the step, per step
+	private final List<Map<EObject,Collection<EObject>>> stepResults = new ArrayList<Map<EObject,Collection<EObject>>>();
+
+	/**
+	 * @param path the initialized path
+	 * @param parallel whether the steps may be evaluated in parallel; this applies
+	 * only to steps whose axis can be evaluated concurrently
+	 */
+	BatchPathEvaluation(EMFPathImpl path, boolean parallel) {
+		this.path = path;
+		this.parallel = parallel;
+	}
+
+	Map<EObject,Collection<EObject>> evaluate(Collection<? extends EObject> contexts) {
+
+		Map<EObject,Collection<EObject>> result = new LinkedHashMap<EObject,Collection<EObject>>();
+		if(!path.isStreamable()){
+			for(EObject context : contexts){
+				Collection<EObject> targets = new ArrayList<EObject>();
+				path.evaluate(context, targets::add);
+				result.put(context, targets);
+			}
+			return result;
+		}
+
+		Collection<EObject> nodes = new HashSet<EObject>(contexts);
+		for(EMFPathStepImpl step : path.getSteps()){
+			Map<EObject,Collection<EObject>> stepResult = evaluateStep(step, nodes);
+			stepResults.add(stepResult);
+			nodes = new HashSet<EObject>();
+			for(Collection<EObject> reached : stepResult.values()){
+				nodes.addAll(reached);
+			}
+		}
+
+		for(EObject context : contexts){
+			Collection<EObject> targets = new ArrayList<EObject>();
+			collectTargets(context, 0, targets);
+			result.put(context, targets);
+		}
+		return result;
+	}
+
+	private Map<EObject,Collection<EObject>> evaluateStep(EMFPathStepImpl step, Collection<EObject> nodes) {
+
+		if(parallel&&step.isThreadSafe()){
+			// Resolving proxies may load resources, so they are resolved afterwards by the calling thread
+			Map<EObject,Collection<EObject>> unresolved = new ConcurrentHashMap<EObject,Collection<EObject>>();
+			nodes.parallelStream().forEach(node -> unresolved.put(node, step.evaluateAxisUnresolved(node)));
+			Map<EObject,Collection<EObject>> stepResult = new HashMap<EObject,Collection<EObject>>();
+			for(Map.Entry<EObject,Collection<EObject>> entry : unresolved.entrySet()){
+				Collection<EObject> reached = step.resolveAndFilter(entry.getKey(), entry.getValue(), new EMFPathEvaluationContext());
+				stepResult.put(entry.getKey(), reached.isEmpty() ? Collections.<EObject>emptyList() : reached);
+			}
+			return stepResult;
+		}
+
+		Map<EObject,Collection<EObject>> stepResult = new HashMap<EObject,Collection<EObject>>();
+		for(EObject node : nodes){
+			stepResult.put(node, evaluateStep(step, node));
+		}
+		return stepResult;
+	}
+
+	private static Collection<EObject> evaluateStep(EMFPathStepImpl step, EObject node) {
+		// Paths evaluated set-at-a-time have no conditions, which would need the results of the ancestor steps
+		Collection<EObject> reached = step.evaluateStep(Collections.singleton(node), new EMFPathEvaluationContext());
+		return reached.isEmpty() ? Collections.<EObject>emptyList() : reached;
+	}
+
+	private void collectTargets(EObject node, int step, Collection<EObject> targets) {
+		if(step==stepResults.size()){
+			targets.add(node);
+		} else {
+			for(EObject reached : stepResults.get(step).get(node)){
+				collectTargets(reached, step+1, targets);
+			}
+		}
+	}
+}
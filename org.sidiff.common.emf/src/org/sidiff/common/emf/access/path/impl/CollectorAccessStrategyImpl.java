@@ -20,9 +20,10 @@ class CollectorAccessStrategyImpl implements CollectorAccessStrategy, StrategyIm
 		assert (path instanceof EMFPathImpl) : "Illegal argument! Invalid Path implemention";
 		Collection<EObject> result = new ArrayList<EObject>();
 		EMFPathImpl pathImpl = (EMFPathImpl) path;
+		EMFPathEvaluationContext evaluation = new EMFPathEvaluationContext();
 		Collection<EObject> stepResult = Collections.singleton(start);
-		for (EMFPathStepImpl step : pathImpl) {
-			stepResult = step.evaluateStep(stepResult);
+		for (EMFPathStepImpl step : pathImpl.getSteps()) {
+			stepResult = step.evaluateStep(stepResult, evaluation);
 			result.addAll(stepResult);
 		}
 		return result;
@@ -1,7 +1,13 @@
 package org.sidiff.common.emf.access.path.impl;
 
+import java.lang.ref.SoftReference;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 import org.eclipse.emf.common.util.TreeIterator;
 import org.eclipse.emf.ecore.*;
@@ -47,18 +53,26 @@ public class EMFPathAccessorImpl implements EMFPathAccessor {
 	private static final String AXIS_PREFIX = "org.sidiff.common.emf.access.path.axis.";
 	private static final String CONDITION_PREFIX = "org.sidiff.common.emf.access.path.conditions.";
 	
-	private static final Map<String,EPackage> namespaces = new HashMap<String, EPackage>();
+	// Registered namespace identifiers, may be extended concurrently
+	private static final Map<String,EPackage> namespaces = new ConcurrentHashMap<String, EPackage>();
 
-	private static final Map<Class<?>,PathEvaluationStrategy<?>> strategies = new HashMap<Class<?>,PathEvaluationStrategy<?>>();
+	// Known strategies, immutable after class initialization (old stategies can be found in revision 2511 in the repository)
+	private static final Map<Class<?>,PathEvaluationStrategy<?>> strategies;
 
-	
-	public EMFPathAccessorImpl() {
-		// Apply known strategies (old stategies can be found in revision 2511 in the repository)
-		strategies.put(TargetEvaluationStrategy.class, new TargetEvaluationStrategyImpl());
-		strategies.put(CollectorAccessStrategy.class, new CollectorAccessStrategyImpl());
-		strategies.put(SliceAccessStrategy.class, new SliceAccessStrategyImpl());
-		strategies.put(PathsAccessStrategy.class, new PathsAccessStrategyImpl());
+	static {
+		Map<Class<?>,PathEvaluationStrategy<?>> knownStrategies = new HashMap<Class<?>,PathEvaluationStrategy<?>>();
+		knownStrategies.put(TargetEvaluationStrategy.class, new TargetEvaluationStrategyImpl());
+		knownStrategies.put(CollectorAccessStrategy.class, new CollectorAccessStrategyImpl());
+		knownStrategies.put(SliceAccessStrategy.class, new SliceAccessStrategyImpl());
+		knownStrategies.put(PathsAccessStrategy.class, new PathsAccessStrategyImpl());
+		strategies = Collections.unmodifiableMap(knownStrategies);
 	}
+
+	// Translated paths by context class and path string, guarded by itself. The context classes are
+	// weak keys and the paths, which reference the classes, are soft values, so that meta-models
+	// which are no longer used can be garbage collected.
+	private final Map<EClass,Map<String,SoftReference<EMFPathImpl>>> compiledPaths = new WeakHashMap<EClass, Map<String,SoftReference<EMFPathImpl>>>();
+
 	
 	//***************************************************************************************************************
 
@@ -69,9 +83,61 @@ public class EMFPathAccessorImpl implements EMFPathAccessor {
 		return ((StrategyImpl<T>)strategies.get(strategy)).evaluate(context, path);
 	}
 
+	@Override
+	public void evaluatePath(EObject context, EMFPath path, Consumer<? super EObject> consumer) {
+		assert(path instanceof EMFPathImpl) : "Illegal argument:"+path;
+		((EMFPathImpl)path).evaluate(context, consumer);
+	}
+
+	@Override
+	public Map<EObject,Collection<EObject>> evaluatePath(Collection<? extends EObject> contexts, EMFPath path, boolean parallel) {
+		assert(path instanceof EMFPathImpl) : "Illegal argument:"+path;
+		return new BatchPathEvaluation((EMFPathImpl)path, parallel).evaluate(contexts);
+	}
+
+	/**
+	 * Returns the translated path for the given context class and path string.
+	 * Paths are translated only once and then cached, i.e. the returned
+	 * path is shared by all callers.
+	 */
 	@Override
 	public EMFPath translatePath(EClass eClass, String pathString) {
 		
+		EMFPathImpl path = getCompiledPath(eClass, pathString);
+		if(path==null){
+			// Compiled outside of the lock, concurrent compilations of the same path are equivalent
+			path = compilePath(eClass, pathString);
+			synchronized (compiledPaths) {
+				compiledPaths.computeIfAbsent(eClass, key -> new HashMap<String, SoftReference<EMFPathImpl>>())
+					.put(pathString, new SoftReference<EMFPathImpl>(path));
+			}
+		}
+		return path;
+	}
+	
+	private EMFPathImpl getCompiledPath(EClass eClass, String pathString) {
+		
+		synchronized (compiledPaths) {
+			Map<String,SoftReference<EMFPathImpl>> paths = compiledPaths.get(eClass);
+			if(paths!=null){
+				SoftReference<EMFPathImpl> path = paths.get(pathString);
+				if(path!=null){
+					return path.get();
+				}
+			}
+			return null;
+		}
+	}
+	
+	@Override
+	public void clearPathCache() {
+		synchronized (compiledPaths) {
+			compiledPaths.clear();
+		}
+	}
+	
+	private EMFPathImpl compilePath(EClass eClass, String pathString) {
+		
 		EMFPathImpl result = new EMFPathImpl();
 		
 		for(String stepString : pathString.split(PATH_STEP_SEPERATOR)){
@@ -251,9 +317,9 @@ public class EMFPathAccessorImpl implements EMFPathAccessor {
 	private static EClass lookupClass(String nsname, String className) throws EClassLookupException{
 		
 		EClass result = null;
-		if(namespaces.containsKey(nsname)){
-			EPackage ePackage = namespaces.get(nsname);
-			EClassifier classifier = ePackage.getEClassifier(nsname);
+		EPackage ePackage = namespaces.get(nsname);
+		if(ePackage!=null){
+			EClassifier classifier = ePackage.getEClassifier(className);
 			if(classifier!=null&&classifier instanceof EClass){
 				result = (EClass)classifier;
 			} else {
@@ -266,8 +332,15 @@ public class EMFPathAccessorImpl implements EMFPathAccessor {
 	}
 	
 
+	/**
+	 * Registers a namespace identifier that can be used to qualify type names in paths,
+	 * e.g. "Outgoing.myref#myns:TestNode". Registration is thread-safe.
+	 * 
+	 * @param nsname the namespace identifier
+	 * @param ePackage the package that contains the types
+	 */
 	public static void registerNSName(String nsname,EPackage ePackage){
-		
+		namespaces.put(nsname, ePackage);
 	}
 	
 	private static class EClassLookupException extends Exception {
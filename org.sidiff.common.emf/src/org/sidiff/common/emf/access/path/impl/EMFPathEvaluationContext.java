@@ -0,0 +1,59 @@
+package org.sidiff.common.emf.access.path.impl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.eclipse.emf.ecore.EObject;
+
+/**
+ * The state of a single evaluation of a path, i.e. the last results of the steps
+ * that conditions of the following steps are tested against. Every evaluation uses
+ * its own context, so that translated paths can be shared between threads and
+ * evaluated re-entrantly.
+ * 
+ * @see org.sidiff.common.emf.access.path.conditions.EMFCondition#test(EObject, EMFPathEvaluationContext)
+ */
+public class EMFPathEvaluationContext {
+
+	// Used by the evaluation methods that do not pass a context
+	private static final ThreadLocal<EMFPathEvaluationContext> defaultContext = ThreadLocal.withInitial(EMFPathEvaluationContext::new);
+
+	private final Map<EMFPathStepImpl,Collection<EObject>> lastResults = new IdentityHashMap<EMFPathStepImpl,Collection<EObject>>();
+
+	void setResult(EMFPathStepImpl step, Collection<EObject> result) {
+		lastResults.put(step, result);
+	}
+
+	/**
+	 * Returns the result of the last evaluation of the given step in this evaluation.
+	 * 
+	 * @param step a step of the evaluated path
+	 * @return the last result of the step, empty if the step has not been evaluated
+	 */
+	public Collection<EObject> getResult(EMFPathStepImpl step) {
+		Collection<EObject> result = lastResults.get(step);
+		return result == null ? Collections.<EObject>emptyList() : result;
+	}
+
+	/**
+	 * Returns the default context of the current thread. It records the results of the steps
+	 * that are evaluated without an explicit context, i.e. by {@link EMFPathStepImpl#evaluateStep(Collection)},
+	 * and is used by {@link EMFPathStepImpl#result()} and by conditions that are tested without a context.
+	 * The results are kept until the next evaluation of the same step on this thread
+	 * or until {@link #clearDefault()} is called.
+	 * 
+	 * @return the default context of the current thread
+	 */
+	public static EMFPathEvaluationContext getDefault() {
+		return defaultContext.get();
+	}
+
+	/**
+	 * Releases the results recorded in the default context of the current thread.
+	 */
+	public static void clearDefault() {
+		defaultContext.remove();
+	}
+}
@@ -1,8 +1,14 @@
 package org.sidiff.common.emf.access.path.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
 
 import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
 import org.sidiff.common.emf.access.path.EMFPath;
 
 /**
@@ -16,6 +22,12 @@ public class EMFPathImpl implements EMFPath,Iterable<EMFPathStepImpl> {
 	private EMFPathStepImpl fistStep = null;
 	private EMFPathStepImpl lastStep = null;
 	
+	// Evaluation plan, i.e. the steps in order of evaluation
+	private EMFPathStepImpl[] steps = null;
+	
+	// Whether the path can be evaluated depth-first, i.e. no condition depends on a whole step result
+	private boolean streamable = false;
+	
 	public EClass getTargetType() {
 		return lastStep.resultType();
 	}
@@ -29,12 +41,71 @@ public class EMFPathImpl implements EMFPath,Iterable<EMFPathStepImpl> {
 	public EMFPathImpl initPath(EClass pathContextType) {
 		assert(pathContextType!=null) : "Illegal path context: null";
 		
+		List<EMFPathStepImpl> steps = new ArrayList<EMFPathStepImpl>();
+		boolean streamable = true;
 		for(EMFPathStepImpl step : this){
 			step.initPathStep(pathContextType);
+			steps.add(step);
+			streamable &= !step.hasCondition();
 		}
+		this.steps = steps.toArray(new EMFPathStepImpl[steps.size()]);
+		this.streamable = streamable;
 		return this;
 	}
 	
+	/**
+	 * Whether the path contains no conditions, so that it can be evaluated depth-first
+	 * without materializing the intermediate step results.
+	 * 
+	 * @return <code>true</code> if the path can be streamed
+	 */
+	boolean isStreamable() {
+		return streamable;
+	}
+	
+	/**
+	 * Evaluates the path on the given context and passes the targets to the consumer.
+	 * Streamable paths are evaluated depth-first, without any intermediate collections;
+	 * the targets are passed in the same order as they are returned by the step-wise evaluation.
+	 * 
+	 * @param context the context node the evaluation starts
+	 * @param consumer receives the targets of the path
+	 */
+	void evaluate(EObject context, Consumer<? super EObject> consumer) {
+		assert(steps!=null) : "Path not initialized";
+		
+		if(streamable){
+			// Chain the steps from the last to the first one
+			EMFPathEvaluationContext evaluation = new EMFPathEvaluationContext();
+			Consumer<? super EObject> pipe = consumer;
+			for(int i = steps.length-1; i >= 0; i--){
+				pipe = steps[i].pipe(pipe, evaluation);
+			}
+			pipe.accept(context);
+		} else {
+			EMFPathEvaluationContext evaluation = new EMFPathEvaluationContext();
+			Collection<EObject> stepResult = Collections.singleton(context);
+			for(EMFPathStepImpl step : steps){
+				stepResult = step.evaluateStep(stepResult, evaluation);
+				if(stepResult.isEmpty()){
+					return;
+				}
+			}
+			stepResult.forEach(consumer);
+		}
+	}
+	
+	/**
+	 * Returns the steps of the initialized path in order of evaluation.
+	 * The array must not be modified.
+	 * 
+	 * @return the path steps
+	 */
+	EMFPathStepImpl[] getSteps() {
+		assert(steps!=null) : "Path not initialized";
+		return steps;
+	}
+	
 	/**
 	 * Adds a step to the EMFPath
 	 * 
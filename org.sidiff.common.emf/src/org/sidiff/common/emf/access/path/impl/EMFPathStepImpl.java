@@ -1,7 +1,9 @@
 package org.sidiff.common.emf.access.path.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
 
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.emf.ecore.EObject;
@@ -23,8 +25,8 @@ public class EMFPathStepImpl {
 	// While initialized
 	private EClass pathStepContext = null;
 	
-	// Caches result, needed to realize some evaluation strathegies! e.g. collector, slices
-	private Collection<EObject> lastResult = null;
+	// Determined while initialized: whether the axis result has to be filtered by the node type
+	private boolean filterNodeType = false;
 	
 	EMFPathStepImpl(EMFAxis axis, EClass nodeTest,EMFCondition condition) {
 		
@@ -49,39 +51,135 @@ public class EMFPathStepImpl {
 		if(nodePropertyCondition!=null){
 			nodePropertyCondition.initCondition(this);
 		}
+
+		this.filterNodeType = nodeTypeCondition!=null&&axis.resultType()!=nodeTypeCondition;
 	}
 	
+	/**
+	 * Evaluates this step on the given context objects, and records the result
+	 * as last result of this step in the default context of the current thread.
+	 * 
+	 * @param context the context objects
+	 * @return the well-typed nodes that fulfill the condition
+	 * @deprecated Use {@link #evaluateStep(Collection, EMFPathEvaluationContext)} with a context
+	 * that is created for the evaluation of the path.
+	 */
+	@Deprecated
 	public Collection<EObject> evaluateStep(Collection<EObject> context){
 		
-		this.lastResult = axis.evaluateAxis(context);
-		assert(!lastResult.contains(null)) : "Error: axis ("+axis.getClass().getName()+") returns collection containing 'null'!";
-
-		// Remove not well-typed nodes from collection
-		if(nodeTypeCondition!=null&&axis.resultType()!=nodeTypeCondition){
-			Iterator<EObject> iterator = this.lastResult.iterator();
-			while(iterator.hasNext()){
-				if(!nodeTypeCondition.isSuperTypeOf(iterator.next().eClass())){
-					iterator.remove();
-				}
-			}
+		return evaluateStep(context, EMFPathEvaluationContext.getDefault());
+	}
+	
+	/**
+	 * Evaluates this step on the given context objects, and records the
+	 * result as last result of this step in the evaluation context.
+	 * 
+	 * @param context the context objects
+	 * @param evaluation the context of the current evaluation of the path
+	 * @return the well-typed nodes that fulfill the condition
+	 */
+	public Collection<EObject> evaluateStep(Collection<EObject> context, EMFPathEvaluationContext evaluation){
+		
+		List<EObject> result = new ArrayList<EObject>();
+		Consumer<EObject> pipe = pipe(result::add, evaluation);
+		for(EObject contextObject : context){
+			pipe.accept(contextObject);
 		}
+		evaluation.setResult(this, result);
 		
-		// Check condition 
-		if(nodePropertyCondition!=null){
-			Iterator<EObject> iterator = this.lastResult.iterator();
-			while(iterator.hasNext()){
-				if(!nodePropertyCondition.test(iterator.next())){
-					iterator.remove();
-				}
+		return result;
+	}
+	
+	/**
+	 * Creates a consumer that evaluates this step on each context object it receives and
+	 * passes the resulting nodes on to the given consumer, i.e. without materializing the step result.
+	 * Conditions are tested against the last results of the ancestor steps in the evaluation context.
+	 * 
+	 * @param downstream Receives the well-typed nodes that fulfill the condition.
+	 * @param evaluation the context of the current evaluation of the path
+	 * @return the consumer of context objects
+	 */
+	Consumer<EObject> pipe(Consumer<? super EObject> downstream, EMFPathEvaluationContext evaluation){
+		
+		if(!filterNodeType&&nodePropertyCondition==null){
+			return contextObject -> axis.evaluateAxis(contextObject, downstream);
+		}
+		Consumer<EObject> filter = node -> {
+			if(accept(node, evaluation)){
+				downstream.accept(node);
+			}
+		};
+		return contextObject -> axis.evaluateAxis(contextObject, filter);
+	}
+	
+	/**
+	 * Evaluates the axis of this step on the given context object without resolving proxies,
+	 * see {@link EMFAxis#evaluateAxisUnresolved(EObject, Consumer)}. The nodes are neither resolved
+	 * nor filtered, which is done by {@link #resolveAndFilter(EObject, Collection, EMFPathEvaluationContext)}.
+	 * 
+	 * @param contextObject the context object
+	 * @return the unresolved nodes of the axis
+	 */
+	Collection<EObject> evaluateAxisUnresolved(EObject contextObject){
+		
+		List<EObject> nodes = new ArrayList<EObject>();
+		axis.evaluateAxisUnresolved(contextObject, nodes::add);
+		return nodes;
+	}
+	
+	/**
+	 * Resolves the nodes returned by {@link #evaluateAxisUnresolved(EObject)} and filters them like
+	 * {@link #evaluateStep(Collection, EMFPathEvaluationContext)}.
+	 * 
+	 * @param contextObject the context object the nodes were reached from
+	 * @param nodes the unresolved nodes
+	 * @param evaluation the context of the current evaluation of the path
+	 * @return the well-typed nodes that fulfill the condition
+	 */
+	Collection<EObject> resolveAndFilter(EObject contextObject, Collection<EObject> nodes, EMFPathEvaluationContext evaluation){
+		
+		List<EObject> result = new ArrayList<EObject>(nodes.size());
+		for(EObject node : nodes){
+			EObject resolved = axis.resolve(contextObject, node);
+			if(accept(resolved, evaluation)){
+				result.add(resolved);
 			}
 		}
+		return result;
+	}
+	
+	private boolean accept(EObject node, EMFPathEvaluationContext evaluation){
 		
-		return this.lastResult;
+		assert(node!=null) : "Error: axis ("+axis.getClass().getName()+") returns 'null'!";
+		
+		// Skip not well-typed nodes
+		if(filterNodeType&&!nodeTypeCondition.isSuperTypeOf(node.eClass())){
+			return false;
+		}
+		
+		// Check condition
+		return nodePropertyCondition==null||nodePropertyCondition.test(node, evaluation);
 	}
 	
+	/**
+	 * @return the last result of this step in the default context of the current thread
+	 * @deprecated Use {@link EMFPathEvaluationContext#getResult(EMFPathStepImpl)} of the context
+	 * the step was evaluated with.
+	 */
+	@Deprecated
 	public Collection<EObject> result(){
 		
-		return this.lastResult;
+		return EMFPathEvaluationContext.getDefault().getResult(this);
+	}
+	
+	boolean hasCondition(){
+		
+		return nodePropertyCondition!=null;
+	}
+	
+	boolean isThreadSafe(){
+		
+		return axis.isThreadSafe();
 	}
 	
 	/**
@@ -1,6 +1,7 @@
 package org.sidiff.common.emf.access.path.impl;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 import org.eclipse.emf.ecore.EObject;
 import org.sidiff.common.emf.access.path.*;
@@ -8,9 +9,13 @@ import org.sidiff.common.emf.access.path.impl.EMFPathAccessorImpl.StrategyImpl;
 
 /**
  * Implements PathsAccessStrategyImpl.
- * 
+ *
+ * The paths are created depth-first. All paths share their common prefixes,
+ * i.e. extending a path by a branch does not copy the path. The returned paths
+ * are therefore unmodifiable.
+ *
  * @see PathsAccessStrategy
- * 
+ *
  * @author Sven Wenzel
  */
 class PathsAccessStrategyImpl implements PathsAccessStrategy, StrategyImpl<Collection<List<EObject>>> {
@@ -19,68 +24,121 @@ class PathsAccessStrategyImpl implements PathsAccessStrategy, StrategyImpl<Colle
 	public Collection<List<EObject>> evaluate(EObject start, EMFPath emfPath) {
 		assert (emfPath instanceof EMFPathImpl) : "Illegal argument! Invalid Path implemention";
 
-		Collection<List<EObject>> resultPaths = new LinkedList<List<EObject>>();
-		EMFPathImpl pathImpl = (EMFPathImpl) emfPath;
-		Iterator<EMFPathStepImpl> iterator = pathImpl.iterator();
-		if (iterator.hasNext()) {
-		
-			// Ersten Schritt berechnen
-			List<List<EObject>> stepResultPaths = new LinkedList<List<EObject>>();
-			Collection<EObject> stepResultNodes = null;
-			
-			EMFPathStepImpl step = iterator.next();
-			stepResultNodes = step.evaluateStep(Collections.singleton(start));
-			for(EObject stepNode : stepResultNodes){
-				stepResultPaths.add(new LinkedList<EObject>(Collections.singletonList(stepNode)));
-			}
-		
-			int i = 0;
-			// Alle folgenden Schritte berechnen
-			while (iterator.hasNext()) {
-				EMFPathStepImpl furtherStep = iterator.next();
-				i++;
-
-				Collection<List<EObject>> expiredPaths = null;
-				// Pfade um aktuellen Schritt verlaengern
-				for(int j=0;j<stepResultPaths.size();j++){
-					List<EObject> path = stepResultPaths.get(j);
-					
-					if (path.size()!=i)
-						continue; // this path is too long, hence, must have been added in this iteration of the while loop 
-					
-					LinkedList<EObject> linkedPath = (LinkedList<EObject>)path;
-					stepResultNodes = furtherStep.evaluateStep(Collections.singleton(linkedPath.getLast()));
-					if(stepResultNodes.isEmpty()){
-						// Pfad ist abgelaufen -> Keine weitere verlaengerung
-						if(expiredPaths==null){
-							expiredPaths= new LinkedList<List<EObject>>();
-						}
-						expiredPaths.add(path);
-					} else {
-						// Pfad verlaengern
-						Iterator<EObject> iter = stepResultNodes.iterator();
-						EObject first = iter.next(); // First check for branches bevor add
-						while(iter.hasNext()){
-							// We have a branch, so copy original path
-							List<EObject> branch = new LinkedList<EObject>(path);
-							branch.add(iter.next());
-							stepResultPaths.add(branch);
-						}
-						// Finaly add first Element to the original Path
-						path.add(first);
-					}
-				}
-				if(expiredPaths!=null){
-					stepResultPaths.removeAll(expiredPaths);
-					resultPaths.addAll(expiredPaths); // May be optional?!
+		Collection<List<EObject>> resultPaths = new ArrayList<List<EObject>>();
+		EMFPathStepImpl[] steps = ((EMFPathImpl) emfPath).getSteps();
+		if (steps.length > 0) {
+			if (((EMFPathImpl) emfPath).isStreamable()) {
+				new PathExtender(steps, 0, resultPaths, new EMFPathEvaluationContext()).extend(null, start);
+			} else {
+				// Conditions depend on the last results of the ancestor steps, so evaluate each branch step-wise
+				EMFPathEvaluationContext evaluation = new EMFPathEvaluationContext();
+				for (EObject stepNode : steps[0].evaluateStep(Collections.singleton(start), evaluation)) {
+					extend(new SharedPrefixPath(null, stepNode), steps, 1, resultPaths, evaluation);
 				}
 			}
-			// Pfad abgelaufen... Alles was uebrig ist, ist auch ergebniss :-)
-			resultPaths.addAll(stepResultPaths);
 		}
 		return resultPaths;
+	}
+
+	private static void extend(SharedPrefixPath path, EMFPathStepImpl[] steps, int index, Collection<List<EObject>> resultPaths,
+			EMFPathEvaluationContext evaluation) {
+		if (index == steps.length) {
+			resultPaths.add(path);
+			return;
+		}
+		Collection<EObject> stepResultNodes = steps[index].evaluateStep(Collections.singleton(path.last), evaluation);
+		if (stepResultNodes.isEmpty()) {
+			// Pfad ist abgelaufen -> Keine weitere verlaengerung, aber auch Ergebnis
+			resultPaths.add(path);
+		} else {
+			for (EObject stepNode : stepResultNodes) {
+				extend(new SharedPrefixPath(path, stepNode), steps, index + 1, resultPaths, evaluation);
+			}
+		}
+	}
+
+	/**
+	 * Extends the paths by the nodes of one step without materializing the step result.
+	 * The extenders of the following steps are created once per evaluation and reused for
+	 * all branches, since the paths are extended depth-first.
+	 */
+	private static class PathExtender implements Consumer<EObject> {
+
+		private final Collection<List<EObject>> resultPaths;
+		private final PathExtender next;
+		private final Consumer<EObject> pipe;
+
+		// The path currently extended by this step and whether it has been extended
+		private SharedPrefixPath prefix;
+		private boolean extended;
+
+		PathExtender(EMFPathStepImpl[] steps, int index, Collection<List<EObject>> resultPaths, EMFPathEvaluationContext evaluation) {
+			this.resultPaths = resultPaths;
+			this.next = (index + 1 < steps.length) ? new PathExtender(steps, index + 1, resultPaths, evaluation) : null;
+			this.pipe = steps[index].pipe(this, evaluation);
+		}
+
+		void extend(SharedPrefixPath path, EObject last) {
+			this.prefix = path;
+			this.extended = false;
+			pipe.accept(last);
+			if (!extended && path != null) {
+				// Pfad ist abgelaufen -> Keine weitere verlaengerung, aber auch Ergebnis
+				resultPaths.add(path);
+			}
+		}
 
+		@Override
+		public void accept(EObject stepNode) {
+			extended = true;
+			SharedPrefixPath path = new SharedPrefixPath(prefix, stepNode);
+			if (next == null) {
+				resultPaths.add(path);
+			} else {
+				next.extend(path, stepNode);
+			}
+		}
+	}
+
+	/**
+	 * Unmodifiable path that consists of a prefix path, which may be shared with other paths, and a last node.
+	 */
+	private static class SharedPrefixPath extends AbstractList<EObject> {
+
+		private final SharedPrefixPath prefix;
+		private final EObject last;
+		private final int size;
+
+		SharedPrefixPath(SharedPrefixPath prefix, EObject last) {
+			this.prefix = prefix;
+			this.last = last;
+			this.size = (prefix == null) ? 1 : prefix.size + 1;
+		}
+
+		@Override
+		public EObject get(int index) {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+			}
+			SharedPrefixPath path = this;
+			while (path.size > index + 1) {
+				path = path.prefix;
+			}
+			return path.last;
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+
+		@Override
+		public Object[] toArray() {
+			Object[] nodes = new Object[size];
+			for (SharedPrefixPath path = this; path != null; path = path.prefix) {
+				nodes[path.size - 1] = path.last;
+			}
+			return nodes;
+		}
 	}
-	
-	
 }
@@ -20,9 +20,10 @@ class SliceAccessStrategyImpl implements SliceAccessStrategy, StrategyImpl<List<
 		assert (path instanceof EMFPathImpl) : "Illegal argument! Invalid Path implemention";
 		List<Collection<EObject>> result = new ArrayList<Collection<EObject>>();
 		EMFPathImpl pathImpl = (EMFPathImpl) path;
+		EMFPathEvaluationContext evaluation = new EMFPathEvaluationContext();
 		Collection<EObject> stepResult = Collections.singleton(start);
-		for (EMFPathStepImpl step : pathImpl) {
-			stepResult = step.evaluateStep(stepResult);
+		for (EMFPathStepImpl step : pathImpl.getSteps()) {
+			stepResult = step.evaluateStep(stepResult, evaluation);
 			result.add(stepResult);
 		}
 		return result;
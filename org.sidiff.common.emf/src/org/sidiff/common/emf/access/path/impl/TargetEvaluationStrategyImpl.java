@@ -1,5 +1,6 @@
 package org.sidiff.common.emf.access.path.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 
@@ -22,9 +23,16 @@ class TargetEvaluationStrategyImpl implements TargetEvaluationStrategy, Strategy
 		assert (path instanceof EMFPathImpl) : "Illegal argument! Invalid Path implemention";
 
 		EMFPathImpl pathImpl = (EMFPathImpl) path;
+		if(pathImpl.isStreamable()){
+			Collection<EObject> result = new ArrayList<EObject>();
+			pathImpl.evaluate(start, result::add);
+			return result;
+		}
+		
+		EMFPathEvaluationContext evaluation = new EMFPathEvaluationContext();
 		Collection<EObject> stepResult = Collections.singleton(start);
-		for (EMFPathStepImpl step : pathImpl) {
-			stepResult = step.evaluateStep(stepResult);
+		for (EMFPathStepImpl step : pathImpl.getSteps()) {
+			stepResult = step.evaluateStep(stepResult, evaluation);
 			if(stepResult.isEmpty()){
 				break; // Optimized: Skip following steps if current step returns a empty set 
 			}
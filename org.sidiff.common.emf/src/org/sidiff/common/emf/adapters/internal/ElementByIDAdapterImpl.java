@@ -1,34 +1,271 @@
 package org.sidiff.common.emf.adapters.internal;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.Set;
 
-import org.eclipse.emf.common.notify.impl.AdapterImpl;
+import org.eclipse.emf.common.notify.Notification;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EAttribute;
 import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
 import org.eclipse.emf.ecore.resource.Resource;
-import org.sidiff.common.collections.CollectionUtil;
+import org.eclipse.emf.ecore.util.EContentAdapter;
 import org.sidiff.common.emf.EMFUtil;
 import org.sidiff.common.emf.adapters.ElementByIDAdapter;
 
 /**
  * Adapter that holds an index of all model elements inside a resource.
  * The adapter is assigned to a Resource.
+ * <p>
+ * The index is built on the first lookup. Afterwards, the adapter is attached to all
+ * contents of the resource and keeps the index up to date when elements are added, removed
+ * or moved, or when attributes that their IDs depend on are changed. IDs that are assigned
+ * without any notification, e.g. using <code>XMLResource.setID</code>,
+ * are only taken into account for elements that are added afterwards.</p>
+ * <p>
+ * When the position of elements in a list changes, only the elements that are identified
+ * by a path, which may contain their index, are indexed again.</p>
  * @author wenzel
  */
-public class ElementByIDAdapterImpl extends AdapterImpl implements ElementByIDAdapter {
+public class ElementByIDAdapterImpl extends EContentAdapter implements ElementByIDAdapter {
 
-	private final Map<String, EObject> map;
+	private final Resource resource;
+
+	private final Map<String, EObject> map = new HashMap<>();
+
+	// The ID under which each element is indexed, to remove outdated entries
+	private final Map<EObject, String> ids = new IdentityHashMap<>();
+
+	// The elements whose URI fragment is a path instead of an ID
+	private final Set<EObject> pathIdentified = Collections.newSetFromMap(new IdentityHashMap<>());
+
+	private boolean built = false;
 
 	public ElementByIDAdapterImpl(Resource resource) {
-		map = CollectionUtil.asStream(resource.getAllContents()).collect(Collectors.toMap(EMFUtil::getEObjectID, Function.identity()));
+		this.resource = resource;
 	}
 
 	@Override
 	public EObject getElement(String id) {
+		if(!built) {
+			build();
+		}
 		return map.get(id);
 	}
 
+	private void build() {
+		built = true;
+		// Attach to all contents, to be notified about changes from now on
+		super.setTarget(resource);
+		for(TreeIterator<EObject> iterator = resource.getAllContents(); iterator.hasNext(); ) {
+			index(iterator.next());
+		}
+	}
+
+	@Override
+	protected void setTarget(Resource target) {
+		if(built) {
+			super.setTarget(target);
+		} else {
+			// The contents are adapted lazily when the index is built
+			basicSetTarget(target);
+		}
+	}
+
+	@Override
+	public void notifyChanged(Notification notification) {
+		if(!built) {
+			// Neither the contents are adapted nor an index exists yet
+			return;
+		}
+		super.notifyChanged(notification);
+		if(notification.isTouch() && notification.getEventType() != Notification.RESOLVE) {
+			return;
+		}
+
+		Object notifier = notification.getNotifier();
+		if(notifier == resource) {
+			switch(notification.getFeatureID(Resource.class)) {
+			case Resource.RESOURCE__CONTENTS:
+				updateContents(notification, resource.getContents());
+				break;
+			case Resource.RESOURCE__IS_LOADED:
+				// The index is built again on the next lookup
+				map.clear();
+				ids.clear();
+				pathIdentified.clear();
+				built = false;
+				break;
+			default:
+				break;
+			}
+		} else if(notifier instanceof EObject) {
+			Object feature = notification.getFeature();
+			if(feature instanceof EReference && ((EReference)feature).isContainment()) {
+				EReference reference = (EReference)feature;
+				updateContents(notification, reference.isMany() ? (List<?>)((EObject)notifier).eGet(reference, false) : null);
+			} else if(feature instanceof EAttribute) {
+				// The ID may be an attribute value or depend on it, like the name of an Ecore element
+				EObject object = (EObject)notifier;
+				String id = ids.get(object);
+				if(id != null && !id.equals(EMFUtil.getEObjectID(object))) {
+					reindex(object);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Updates the index after the given containment notification.
+	 * @param notification the notification
+	 * @param contents the containment list, <code>null</code> for a single valued containment
+	 */
+	private void updateContents(Notification notification, List<?> contents) {
+		int position = notification.getPosition();
+		switch(notification.getEventType()) {
+		case Notification.SET:
+		case Notification.UNSET:
+		case Notification.RESOLVE:
+			remove(notification.getOldValue());
+			add(notification.getNewValue());
+			break;
+		case Notification.ADD:
+			add(notification.getNewValue());
+			reindexShifted(contents, position + 1, 1);
+			break;
+		case Notification.ADD_MANY:
+			Collection<?> added = (Collection<?>)notification.getNewValue();
+			for(Object object : added) {
+				add(object);
+			}
+			reindexShifted(contents, position + added.size(), added.size());
+			break;
+		case Notification.REMOVE:
+			remove(notification.getOldValue());
+			reindexShifted(contents, position, -1);
+			break;
+		case Notification.REMOVE_MANY:
+			Collection<?> removed = (Collection<?>)notification.getOldValue();
+			for(Object object : removed) {
+				remove(object);
+			}
+			int[] positions = (int[])notification.getNewValue();
+			reindexShifted(contents, positions != null && positions.length > 0 ? positions[0] : 0, -removed.size());
+			break;
+		case Notification.MOVE:
+			int oldPosition = (Integer)notification.getOldValue();
+			reindexShifted(contents, Math.min(position, oldPosition), 0);
+			break;
+		default:
+			break;
+		}
+	}
+
+	/**
+	 * Elements of a list that are behind a changed position may be identified by their index,
+	 * so they have to be indexed again. The root elements of the resource are identified
+	 * by their index only if there is more than one root element.
+	 */
+	private void reindexShifted(List<?> contents, int position, int sizeChange) {
+		if(contents == null || pathIdentified.isEmpty()) {
+			// All elements are identified by IDs, which do not depend on their position
+			return;
+		}
+		if(contents == resource.getContents()) {
+			int oldSize = contents.size() - sizeChange;
+			if(oldSize != contents.size() && (oldSize == 1 || contents.size() == 1)) {
+				position = 0;
+			}
+		}
+		for(int i = Math.max(position, 0); i < contents.size(); i++) {
+			Object object = contents.get(i);
+			if(object instanceof EObject && ((EObject)object).eResource() == resource) {
+				reindexPaths((EObject)object);
+			}
+		}
+	}
+
+	/**
+	 * Indexes the elements of the subtree again that are identified by a path.
+	 * The contents of an element whose path has not changed are skipped.
+	 */
+	private void reindexPaths(EObject root) {
+		if(!reindexPath(root)) {
+			return;
+		}
+		for(TreeIterator<EObject> iterator = root.eAllContents(); iterator.hasNext(); ) {
+			if(!reindexPath(iterator.next())) {
+				iterator.prune();
+			}
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if the paths of the contents of the element may have changed
+	 */
+	private boolean reindexPath(EObject object) {
+		// The paths of the contents of an element with an ID still contain its segment
+		return !pathIdentified.contains(object) || index(object);
+	}
+
+	private void add(Object root) {
+		if(root instanceof EObject && ((EObject)root).eResource() == resource) {
+			reindex((EObject)root);
+		}
+	}
+
+	private void remove(Object root) {
+		// Elements that have been moved within the resource are indexed when they are added
+		if(root instanceof EObject && ((EObject)root).eResource() != resource) {
+			unindex((EObject)root);
+			for(TreeIterator<EObject> iterator = ((EObject)root).eAllContents(); iterator.hasNext(); ) {
+				unindex(iterator.next());
+			}
+		}
+	}
+
+	private void reindex(EObject root) {
+		index(root);
+		for(TreeIterator<EObject> iterator = root.eAllContents(); iterator.hasNext(); ) {
+			index(iterator.next());
+		}
+	}
+
+	/**
+	 * @return <code>true</code> if the ID of the element has changed or it was not indexed before
+	 */
+	private boolean index(EObject object) {
+		String id = EMFUtil.getEObjectID(object);
+		String oldId = ids.put(object, id);
+		map.put(id, object);
+		if(id.equals(oldId)) {
+			return false;
+		}
+		if(oldId != null) {
+			map.remove(oldId, object);
+		}
+		// Like Resource.getEObject, fragments starting with a slash are paths
+		if(id.startsWith("/")) {
+			pathIdentified.add(object);
+		} else {
+			pathIdentified.remove(object);
+		}
+		return true;
+	}
+
+	private void unindex(EObject object) {
+		String id = ids.remove(object);
+		if(id != null) {
+			map.remove(id, object);
+		}
+		pathIdentified.remove(object);
+	}
+
 	@Override
 	public boolean isAdapterForType(Object type) {
 		return type == ElementByIDAdapter.class;
@@ -36,6 +273,6 @@ public class ElementByIDAdapterImpl extends AdapterImpl implements ElementByIDAd
 
 	@Override
 	public String toString() {
-		return "ElementByIDAdapter[target=" + getTarget() + ", map=" + map + "]";
+		return "ElementByIDAdapter[target=" + resource + ", map=" + map + "]";
 	}
 }
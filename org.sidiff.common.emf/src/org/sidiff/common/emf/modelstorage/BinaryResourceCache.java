@@ -0,0 +1,250 @@
+package org.sidiff.common.emf.modelstorage;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.URIConverter;
+import org.eclipse.emf.ecore.resource.impl.BinaryResourceImpl;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.sidiff.common.file.DigestUtil;
+import org.sidiff.common.logging.LogEvent;
+import org.sidiff.common.logging.LogUtil;
+
+/**
+ * <p>An on-disk cache that stores the contents of loaded resources in the
+ * {@link BinaryResourceImpl binary resource format}, which can be loaded much faster than XML.</p>
+ * <p>Every cache entry contains the MD5 digest of the source file it was created from,
+ * and is only used as long as the source file has the same digest. The IDs of
+ * {@link XMLResource}s, e.g. the XmiIds of {@link XmiIdResourceImpl} and {@link UUIDResource},
+ * are stored along with the contents. The resources keep their type, i.e. they are
+ * still saved in their original format.</p>
+ * <p>Entries are only created for resources that have been loaded without errors, and
+ * without content that has been recorded for unknown features (see
+ * {@link XMLResource#OPTION_RECORD_UNKNOWN_FEATURE}), which the binary format cannot store.
+ * The cache assumes that the metamodels do not change; if they do, the cache must
+ * be {@link #clear() cleared}. Entries that cannot be read are ignored.</p>
+ * <p>The cache can be used by multiple threads, as long as they do not access the same resource.</p>
+ * @see SiDiffResourceSet#setBinaryResourceCache(BinaryResourceCache)
+ */
+public class BinaryResourceCache {
+
+	private static final String FILE_EXTENSION = ".bin";
+
+	// Changes whenever the format of the entries changes
+	private static final String HEADER = "SiDiffBinaryResourceCache-1";
+
+	// Without an internal buffer, the binary streams read and write byte by byte
+	private static final Map<?, ?> BINARY_OPTIONS =
+			Collections.singletonMap(BinaryResourceImpl.OPTION_INTERNAL_BUFFER_CAPACITY, 8192);
+
+	private final Path directory;
+
+	/**
+	 * Creates a cache that stores its entries in the given directory,
+	 * which is created if it does not exist.
+	 * @param directory the cache directory
+	 */
+	public BinaryResourceCache(Path directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Returns the directory which contains the entries of this cache.
+	 * @return the cache directory
+	 */
+	public Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Loads the contents of the given, unloaded resource from this cache, if the
+	 * cache contains an entry for the current source of the resource.
+	 * @param resource the resource to load
+	 * @param uriConverter the URI converter to read the source of the resource
+	 * @param options the load options
+	 * @return <code>true</code> if the resource has been loaded from the cache,
+	 * <code>false</code> if the resource has not been loaded
+	 */
+	public boolean load(Resource resource, URIConverter uriConverter, Map<?, ?> options) {
+		Path file = getCacheFile(resource.getURI());
+		if(!Files.isRegularFile(file)) {
+			return false;
+		}
+		try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if(!readHeader(in, resource, uriConverter, options)) {
+				return false;
+			}
+			BinaryResourceImpl.EObjectInputStream eObjectIn = new BinaryResourceImpl.EObjectInputStream(in, BINARY_OPTIONS);
+			eObjectIn.loadResource(resource);
+			if(resource instanceof XMLResource) {
+				readIDs(eObjectIn, (XMLResource)resource);
+			}
+			resource.setModified(false);
+			return true;
+		} catch (IOException | RuntimeException e) {
+			LogUtil.log(LogEvent.WARNING, "Ignoring binary cache entry of " + resource.getURI() + ": " + e);
+			resource.unload();
+			return false;
+		}
+	}
+
+	/**
+	 * Stores the contents of the given resource in this cache, if it
+	 * has been loaded without errors. Failures are only logged.
+	 * @param resource the loaded resource
+	 * @param uriConverter the URI converter to read the source of the resource
+	 * @param options the load options that were used to load the resource
+	 */
+	public void store(Resource resource, URIConverter uriConverter, Map<?, ?> options) {
+		if(!resource.isLoaded() || !resource.getErrors().isEmpty()) {
+			return;
+		}
+		if(resource instanceof XMLResource && !((XMLResource)resource).getEObjectToExtensionMap().isEmpty()) {
+			// The recorded unknown content would be lost when the resource is saved after loading it from the cache
+			return;
+		}
+		Path file = getCacheFile(resource.getURI());
+		Path tempFile = null;
+		try {
+			Files.createDirectories(directory);
+			// Write to a temporary file first, to not expose partial entries to concurrent readers
+			tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+			try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+				writeHeader(out, resource, uriConverter, options);
+				BinaryResourceImpl.EObjectOutputStream eObjectOut = new BinaryResourceImpl.EObjectOutputStream(out, BINARY_OPTIONS);
+				eObjectOut.saveResource(resource);
+				if(resource instanceof XMLResource) {
+					writeIDs(eObjectOut, (XMLResource)resource);
+				}
+				eObjectOut.flush();
+			}
+			Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException | RuntimeException | StackOverflowError e) {
+			// The binary format writes referenced objects recursively, which can overflow the stack for large models
+			LogUtil.log(LogEvent.WARNING, "Could not store binary cache entry of " + resource.getURI() + ": " + e);
+			if(tempFile != null) {
+				try {
+					Files.deleteIfExists(tempFile);
+				} catch (IOException e2) {
+					// ignore
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes all entries of this cache.
+	 * @throws IOException if removing an entry failed
+	 */
+	public void clear() throws IOException {
+		if(!Files.isDirectory(directory)) {
+			return;
+		}
+		try(DirectoryStream<Path> entries = Files.newDirectoryStream(directory, "*" + FILE_EXTENSION)) {
+			for(Path entry : entries) {
+				Files.deleteIfExists(entry);
+			}
+		}
+	}
+
+	private Path getCacheFile(URI uri) {
+		try {
+			return directory.resolve(toHexString(DigestUtil.calculateMD5(
+					new ByteArrayInputStream(uri.toString().getBytes(StandardCharsets.UTF_8)))) + FILE_EXTENSION);
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	private static void writeHeader(DataOutputStream out, Resource resource, URIConverter uriConverter, Map<?, ?> options) throws IOException {
+		out.writeUTF(HEADER);
+		out.writeUTF(resource.getClass().getName());
+		out.writeUTF(resource.getURI().toString());
+		out.writeUTF(calculateSourceDigest(resource, uriConverter, options));
+	}
+
+	private static boolean readHeader(DataInputStream in, Resource resource, URIConverter uriConverter, Map<?, ?> options) throws IOException {
+		return in.readUTF().equals(HEADER)
+				&& in.readUTF().equals(resource.getClass().getName())
+				&& in.readUTF().equals(resource.getURI().toString())
+				&& in.readUTF().equals(calculateSourceDigest(resource, uriConverter, options));
+	}
+
+	private static String calculateSourceDigest(Resource resource, URIConverter uriConverter, Map<?, ?> options) throws IOException {
+		// The input stream is closed by DigestUtil
+		InputStream source = uriConverter.createInputStream(resource.getURI(), options);
+		return toHexString(DigestUtil.calculateMD5(source));
+	}
+
+	/**
+	 * Writes the IDs of the resource's elements, identifying the elements by their
+	 * position in the tree of contents, which is the same after loading.
+	 * The deprecated ID map is read, because getID would generate IDs for a UUIDResource.
+	 */
+	@SuppressWarnings("deprecation")
+	private static void writeIDs(BinaryResourceImpl.EObjectOutputStream out, XMLResource resource) throws IOException {
+		List<Object> entries = new ArrayList<>();
+		int position = 0;
+		for(TreeIterator<EObject> iterator = resource.getAllContents(); iterator.hasNext(); position++) {
+			String id = resource.getEObjectToIDMap().get(iterator.next());
+			if(id != null) {
+				entries.add(position);
+				entries.add(id);
+			}
+		}
+		out.writeCompressedInt(entries.size() / 2);
+		for(int i = 0; i < entries.size(); i += 2) {
+			out.writeCompressedInt((Integer)entries.get(i));
+			out.writeString((String)entries.get(i + 1));
+		}
+	}
+
+	private static void readIDs(BinaryResourceImpl.EObjectInputStream in, XMLResource resource) throws IOException {
+		int count = in.readCompressedInt();
+		if(count == 0) {
+			return;
+		}
+		int nextPosition = in.readCompressedInt();
+		int position = 0;
+		for(TreeIterator<EObject> iterator = resource.getAllContents(); iterator.hasNext() && count > 0; position++) {
+			EObject eObject = iterator.next();
+			if(position == nextPosition) {
+				resource.setID(eObject, in.readString());
+				if(--count > 0) {
+					nextPosition = in.readCompressedInt();
+				}
+			}
+		}
+		if(count > 0) {
+			throw new IOException("The IDs do not match the contents");
+		}
+	}
+
+	private static String toHexString(byte[] bytes) {
+		StringBuilder builder = new StringBuilder(bytes.length * 2);
+		for(byte b : bytes) {
+			builder.append(Character.forDigit((b >> 4) & 0xF, 16));
+			builder.append(Character.forDigit(b & 0xF, 16));
+		}
+		return builder.toString();
+	}
+}
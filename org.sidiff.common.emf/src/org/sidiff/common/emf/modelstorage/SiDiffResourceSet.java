@@ -1,7 +1,16 @@
 package org.sidiff.common.emf.modelstorage;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Supplier;
 
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.emf.common.util.URI;
@@ -12,6 +21,7 @@ import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import org.eclipse.emf.ecore.util.ExtendedMetaData;
 import org.eclipse.emf.ecore.xmi.XMIResource;
 import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.XMLResource.URIHandler;
 import org.eclipse.emf.ecore.xmi.impl.URIHandlerImpl;
 import org.eclipse.emf.ecore.xmi.impl.URIHandlerImpl.PlatformSchemeAware;
 import org.eclipse.emf.ecore.xmi.impl.XMLParserPoolImpl;
@@ -27,6 +37,11 @@ import org.sidiff.common.logging.LogUtil;
  * <p>The default load options include performance optimizations. The default
  * save options do as well, in addition to deresolving URIs to platform URIs if possible,
  * and recording dangling references instead of throwing exceptions.</p>
+ * <p>Multiple resources can be loaded and saved in parallel. The worker threads only
+ * access the resources they load or save, and every worker thread uses its own copy of
+ * the options, because the caches and URI handlers contained in the options are not thread-safe.</p>
+ * <p>Optionally, a {@link BinaryResourceCache} can be set to reload unchanged resources
+ * faster from a binary form.</p>
  * @author rmueller
  */
 public class SiDiffResourceSet extends ResourceSetImpl {
@@ -52,6 +67,7 @@ public class SiDiffResourceSet extends ResourceSetImpl {
 	private Map<Object, Object> saveOptions = new HashMap<>();
 	private boolean logErrors = true;
 	private boolean logWarnings = false;
+	private BinaryResourceCache binaryResourceCache;
 
 	protected SiDiffResourceSet() {
 		initLoadOptions(getLoadOptions());
@@ -175,21 +191,16 @@ public class SiDiffResourceSet extends ResourceSetImpl {
 	 * @throws SiDiffRuntimeException if saving failed
 	 */
 	public void saveResource(Resource resource) {
+		saveResource(resource, getSaveOptions());
+	}
+
+	protected void saveResource(Resource resource, Map<Object, Object> options) {
 		Assert.isLegal(resource.getResourceSet() == this, "The resource is not contained in this resource set");
 		try {
 			resource.getErrors().clear();
 			resource.getWarnings().clear();
-			resource.save(getSaveOptions());
-			if(isLogErrors()) {
-				for(Diagnostic diag : resource.getErrors()) {
-					LogUtil.log(LogEvent.ERROR, "Saved resource has error: " + resource.getURI(), diag);
-				}
-			}
-			if(isLogWarnings()) {
-				for(Diagnostic diag : resource.getWarnings()) {
-					LogUtil.log(LogEvent.WARNING, "Saved resource has warning: " + resource.getURI(), diag);
-				}
-			}
+			resource.save(options);
+			logDiagnostics(resource, "Saved");
 		} catch (IOException e) {
 			throw new SiDiffRuntimeException("Could not save " + resource, "Saving resource failed", e);
 		}
@@ -200,11 +211,268 @@ public class SiDiffResourceSet extends ResourceSetImpl {
 	 * which are the result of having proxy references to deleted resources.
 	 */
 	public void saveAllResources() {
+		for(Resource resource : getResourcesToSave()) {
+			saveResource(resource);
+		}
+	}
+
+	/**
+	 * Saves all resources of this resource set like {@link #saveAllResources()},
+	 * but saves multiple resources in parallel. The resources must not be modified
+	 * while they are saved.
+	 * @param parallelism the maximum number of resources that are saved in parallel
+	 * @throws SiDiffRuntimeException if saving any resource failed, after all other resources have been saved
+	 */
+	public void saveAllResources(int parallelism) {
+		Assert.isLegal(parallelism > 0, "Parallelism must be positive");
+		List<Resource> resources = getResourcesToSave();
+		BlockingQueue<Map<Object, Object>> options =
+				createWorkerOptions(this::createWorkerSaveOptions, Math.min(parallelism, resources.size()));
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for(Resource resource : resources) {
+			tasks.add(() -> {
+				Map<Object, Object> workerOptions = options.take();
+				try {
+					saveResource(resource, workerOptions);
+				} finally {
+					options.add(workerOptions);
+				}
+				return null;
+			});
+		}
+		List<Future<Void>> results = runInParallel(tasks, parallelism);
+		for(int i = 0; i < results.size(); i++) {
+			getResult(results.get(i));
+		}
+	}
+
+	private List<Resource> getResourcesToSave() {
+		List<Resource> resources = new ArrayList<>();
 		for(Resource resource : getResources()) {
 			if(!resource.getContents().isEmpty() || resource.getErrors().isEmpty()) {
 				// Ignore empty resources with errors. Those usually remain after deleting a resource externally.
 				// Subsequent fixing of proxy references leaves an empty resource with a "File does not exist" error in the set.
-				saveResource(resource);
+				resources.add(resource);
+			}
+		}
+		return resources;
+	}
+
+	/**
+	 * Loads the resources with the given URIs into this resource set, in parallel
+	 * using as many threads as processors are available.
+	 * @param uris the URIs of the resources
+	 * @return the resources, in the order of the distinct URIs
+	 * @see #loadResources(Collection, int)
+	 */
+	public List<Resource> loadResources(Collection<URI> uris) {
+		return loadResources(uris, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * <p>Loads the resources with the given URIs into this resource set, like {@link #getResource(URI, boolean)}.</p>
+	 * <p>The resources that are not yet contained in this resource set are loaded in parallel,
+	 * each in a worker resource set which shares the package registry, resource factory registry
+	 * and URI converter of this resource set. Other resources which are needed while loading,
+	 * e.g. metamodels referenced by schema locations, are loaded into this resource set, one at a time.
+	 * References to other resources remain proxies until they are accessed. When all resources
+	 * have been loaded, the calling thread adds them to this resource set, in the order of the URIs.</p>
+	 * @param uris the URIs of the resources
+	 * @param parallelism the maximum number of resources that are loaded in parallel
+	 * @return the resources, in the order of the given URIs, without duplicates of equal URIs
+	 * @throws SiDiffRuntimeException if loading any resource failed, after all resources
+	 * have been added to the resource set
+	 */
+	public List<Resource> loadResources(Collection<URI> uris, int parallelism) {
+		Assert.isLegal(parallelism > 0, "Parallelism must be positive");
+		// URIs which normalize to the same URI denote the same resource
+		Map<URI, Resource> newResources = new LinkedHashMap<>();
+		for(URI uri : new LinkedHashSet<>(uris)) {
+			URI normalizedUri = getURIConverter().normalize(uri);
+			if(!newResources.containsKey(normalizedUri) && super.getResource(uri, false) == null) {
+				newResources.put(normalizedUri, createDetachedResource(uri));
+			}
+		}
+		BlockingQueue<Map<Object, Object>> options =
+				createWorkerOptions(this::createWorkerLoadOptions, Math.min(parallelism, newResources.size()));
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for(Resource resource : newResources.values()) {
+			tasks.add(() -> {
+				Map<Object, Object> workerOptions = options.take();
+				try {
+					loadDetachedResource(resource, workerOptions);
+				} finally {
+					options.add(workerOptions);
+				}
+				return null;
+			});
+		}
+		List<Future<Void>> results = runInParallel(tasks, parallelism);
+
+		// Add the loaded resources in the calling thread only, to not notify adapters of this resource set concurrently
+		getResources().addAll(newResources.values());
+		SiDiffRuntimeException failure = null;
+		for(Future<Void> result : results) {
+			try {
+				getResult(result);
+			} catch (SiDiffRuntimeException e) {
+				if(failure == null) {
+					failure = e;
+				} else {
+					failure.addSuppressed(e);
+				}
+			}
+		}
+		if(failure != null) {
+			throw failure;
+		}
+
+		Set<Resource> resources = new LinkedHashSet<>();
+		for(URI uri : uris) {
+			Resource resource = newResources.get(getURIConverter().normalize(uri));
+			if(resource == null) {
+				resource = getResource(uri, true);
+			} else if(!resources.contains(resource)) {
+				logDiagnostics(resource, "Loaded");
+			}
+			resources.add(resource);
+		}
+		return new ArrayList<>(resources);
+	}
+
+	private Resource createDetachedResource(URI uri) {
+		Resource.Factory factory = getResourceFactoryRegistry().getFactory(uri);
+		if(factory == null) {
+			throw new SiDiffRuntimeException("Cannot create a resource for '" + uri + "'; a registered resource factory is needed");
+		}
+		return factory.createResource(uri);
+	}
+
+	private void loadDetachedResource(Resource resource, Map<Object, Object> options) {
+		// The worker resource set provides the registries to the resource while it is loaded
+		new WorkerResourceSet(this, options).getResources().add(resource);
+		BinaryResourceCache cache = binaryResourceCache;
+		if(cache != null && cache.load(resource, getURIConverter(), options)) {
+			return;
+		}
+		try(InputStream inputStream = getURIConverter().createInputStream(resource.getURI(), options)) {
+			resource.load(inputStream, options);
+		} catch (IOException e) {
+			throw new SiDiffRuntimeException("Could not load " + resource.getURI(), "Loading resource failed", e);
+		}
+		if(cache != null) {
+			cache.store(resource, getURIConverter(), options);
+		}
+	}
+
+	@Override
+	protected void demandLoad(Resource resource) throws IOException {
+		if(binaryResourceCache != null && binaryResourceCache.load(resource, getURIConverter(), getLoadOptions())) {
+			return;
+		}
+		super.demandLoad(resource);
+		if(binaryResourceCache != null) {
+			binaryResourceCache.store(resource, getURIConverter(), getLoadOptions());
+		}
+	}
+
+	/**
+	 * Returns a copy of the load options for a worker thread, with its own caches and URI handlers.
+	 * @return load options for a worker thread
+	 */
+	protected Map<Object, Object> createWorkerLoadOptions() {
+		Map<Object, Object> options = new HashMap<>(getLoadOptions());
+		if(options.get(XMLResource.OPTION_USE_XML_NAME_TO_FEATURE_MAP) != null) {
+			options.put(XMLResource.OPTION_USE_XML_NAME_TO_FEATURE_MAP, new HashMap<>());
+		}
+		copyURIHandlers(options);
+		return options;
+	}
+
+	/**
+	 * Returns a copy of the save options for a worker thread, with its own caches and URI handlers.
+	 * @return save options for a worker thread
+	 */
+	protected Map<Object, Object> createWorkerSaveOptions() {
+		Map<Object, Object> options = new HashMap<>(getSaveOptions());
+		if(options.get(XMLResource.OPTION_USE_CACHED_LOOKUP_TABLE) != null) {
+			options.put(XMLResource.OPTION_USE_CACHED_LOOKUP_TABLE, new ArrayList<>());
+		}
+		copyURIHandlers(options);
+		return options;
+	}
+
+	private void copyURIHandlers(Map<Object, Object> options) {
+		// URI handlers are stateful, the base URI is set to the URI of the loaded or saved resource
+		options.replaceAll((key, value) -> value instanceof URIHandler ? copyURIHandler((URIHandler)value) : value);
+	}
+
+	/**
+	 * Returns a new URI handler for a worker thread, which behaves like the given URI handler.
+	 * The default implementation creates a new instance of the handler's class.
+	 * @param uriHandler the URI handler of the options
+	 * @return new URI handler
+	 * @throws SiDiffRuntimeException if the URI handler cannot be copied
+	 */
+	protected URIHandler copyURIHandler(URIHandler uriHandler) {
+		try {
+			return uriHandler.getClass().getConstructor().newInstance();
+		} catch (ReflectiveOperationException e) {
+			throw new SiDiffRuntimeException("Cannot copy the URI handler " + uriHandler.getClass().getName()
+					+ " for a worker thread; override copyURIHandler", e);
+		}
+	}
+
+	/**
+	 * Creates the given number of option copies in the calling thread, so that
+	 * failures to copy the options are reported before any task is started.
+	 */
+	private static BlockingQueue<Map<Object, Object>> createWorkerOptions(Supplier<Map<Object, Object>> factory, int count) {
+		BlockingQueue<Map<Object, Object>> options = new LinkedBlockingQueue<>();
+		for(int i = 0; i < count; i++) {
+			options.add(factory.get());
+		}
+		return options;
+	}
+
+	private static <V> List<Future<V>> runInParallel(List<Callable<V>> tasks, int parallelism) {
+		if(tasks.isEmpty()) {
+			return Collections.emptyList();
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, tasks.size()));
+		try {
+			return executor.invokeAll(tasks);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SiDiffRuntimeException("Interrupted while loading or saving resources", e);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static <V> V getResult(Future<V> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SiDiffRuntimeException("Interrupted while loading or saving resources", e);
+		} catch (ExecutionException e) {
+			if(e.getCause() instanceof SiDiffRuntimeException) {
+				throw (SiDiffRuntimeException)e.getCause();
+			}
+			throw new SiDiffRuntimeException(e.getCause());
+		}
+	}
+
+	private void logDiagnostics(Resource resource, String action) {
+		if(isLogErrors()) {
+			for(Diagnostic diag : resource.getErrors()) {
+				LogUtil.log(LogEvent.ERROR, action + " resource has error: " + resource.getURI(), diag);
+			}
+		}
+		if(isLogWarnings()) {
+			for(Diagnostic diag : resource.getWarnings()) {
+				LogUtil.log(LogEvent.WARNING, action + " resource has warning: " + resource.getURI(), diag);
 			}
 		}
 	}
@@ -253,16 +521,7 @@ public class SiDiffResourceSet extends ResourceSetImpl {
 		if(resource == null) {
 			return null;
 		}
-		if(isLogErrors()) {
-			for(Diagnostic diag : resource.getErrors()) {
-				LogUtil.log(LogEvent.ERROR, "Loaded resource has error: " + resource.getURI(), diag);
-			}
-		}
-		if(isLogWarnings()) {
-			for(Diagnostic diag : resource.getWarnings()) {
-				LogUtil.log(LogEvent.WARNING, "Loaded resource has warning: " + resource.getURI(), diag);
-			}
-		}
+		logDiagnostics(resource, "Loaded");
 		return resource;
 	}
 
@@ -335,6 +594,53 @@ public class SiDiffResourceSet extends ResourceSetImpl {
 		return logWarnings;
 	}
 
+	/**
+	 * Sets the cache that is used to load resources, which is disabled by default.
+	 * Resources that are loaded when the cache does not contain an up-to-date entry for them
+	 * are stored in the cache. Resources that are already loaded are not affected.
+	 * @param binaryResourceCache the cache, <code>null</code> to disable caching
+	 */
+	public void setBinaryResourceCache(BinaryResourceCache binaryResourceCache) {
+		this.binaryResourceCache = binaryResourceCache;
+	}
+
+	/**
+	 * Returns the cache that is used to load resources.
+	 * @return the cache, <code>null</code> if caching is disabled
+	 */
+	public BinaryResourceCache getBinaryResourceCache() {
+		return binaryResourceCache;
+	}
+
+
+	/**
+	 * A resource set which contains a single resource while it is loaded by a worker thread.
+	 * It shares the registries and the URI converter with its parent resource set.
+	 * Other resources are obtained from the parent resource set, one thread at a time.
+	 */
+	private static class WorkerResourceSet extends ResourceSetImpl {
+
+		private final SiDiffResourceSet parent;
+
+		WorkerResourceSet(SiDiffResourceSet parent, Map<Object, Object> loadOptions) {
+			this.parent = parent;
+			setPackageRegistry(parent.getPackageRegistry());
+			setResourceFactoryRegistry(parent.getResourceFactoryRegistry());
+			setURIConverter(parent.getURIConverter());
+			getLoadOptions().putAll(loadOptions);
+		}
+
+		@Override
+		public Resource getResource(URI uri, boolean loadOnDemand) {
+			Resource resource = super.getResource(uri, false);
+			if(resource != null) {
+				return resource;
+			}
+			synchronized (parent) {
+				return parent.getResource(uri, loadOnDemand);
+			}
+		}
+	}
 
 	/**
 	 * URI will be replaced by the last segment (filename).
@@ -60,6 +60,7 @@ public class ExtensionManager<T extends IExtension> {
 		synchronized (storage) {
 			storage.addExtension(extension);
 		}
+		extensionsChanged();
 	}
 
 	/**
@@ -72,6 +73,7 @@ public class ExtensionManager<T extends IExtension> {
 		synchronized (storage) {
 			storage.removeExtension(id);
 		}
+		extensionsChanged();
 	}
 
 	/**
@@ -81,6 +83,26 @@ public class ExtensionManager<T extends IExtension> {
 		synchronized (storage) {
 			storage.clearExtensions();
 		}
+		extensionsChanged();
+	}
+
+	/**
+	 * <p>Called after extensions have been added to or removed from this manager.</p>
+	 * <p>The default implementation does nothing. Subclasses may override
+	 * to invalidate data that is derived from the extensions.</p>
+	 */
+	protected void extensionsChanged() {
+		// Nothing to do
+	}
+
+	/**
+	 * Returns whether the storage of this manager returns the same extension
+	 * instances until this manager is modified, such that they may be indexed.
+	 * @return <code>true</code> if the storage caches the extensions
+	 * @see IExtensionManagerStorage#isCaching()
+	 */
+	protected final boolean isCachingStorage() {
+		return storage.isCaching();
 	}
 
 	/**
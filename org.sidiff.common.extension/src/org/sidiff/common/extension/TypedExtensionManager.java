@@ -20,6 +20,14 @@ import org.sidiff.common.extension.storage.IExtensionManagerStorage;
  */
 public class TypedExtensionManager<T extends ITypedExtension> extends ExtensionManager<T> {
 
+	private final Object indexLock = new Object();
+
+	/**
+	 * Index of the extensions by document type, <code>null</code> if not yet built
+	 * or invalidated. Only used if the storage caches the extensions.
+	 */
+	private volatile DocumentTypeIndex<T> index;
+
 	/**
 	 * Creates a new, empty typed extension manager, using a {@link CachingExtensionManagerStorage}.
 	 */
@@ -54,6 +62,10 @@ public class TypedExtensionManager<T extends ITypedExtension> extends ExtensionM
 	 */
 	public final Collection<T> getExtensions(final Collection<String> documentTypes, final boolean includeGeneric) {
 		Assert.isNotNull(documentTypes);
+		final DocumentTypeIndex<T> index = getIndex();
+		if(index != null) {
+			return index.getExtensions(documentTypes, includeGeneric);
+		}
 		return getExtensions().stream()
 				.filter(ext -> includeGeneric && ext.isGeneric() || ext.getDocumentTypes().containsAll(documentTypes))
 				.collect(Collectors.toList());
@@ -64,6 +76,10 @@ public class TypedExtensionManager<T extends ITypedExtension> extends ExtensionM
 	 * @return extensions supporting the generic document types, empty if none
 	 */
 	public final Collection<T> getGenericExtensions() {
+		final DocumentTypeIndex<T> index = getIndex();
+		if(index != null) {
+			return index.getExtensions(index.generic);
+		}
 		return getExtensions().stream()
 				.filter(ITypedExtension::isGeneric)
 				.collect(Collectors.toList());
@@ -117,9 +133,100 @@ public class TypedExtensionManager<T extends ITypedExtension> extends ExtensionM
 	 * @return set of document types, may contain {@link ITypedExtension#GENERIC_TYPE}
 	 */
 	public final Set<String> getSupportedDocumentTypes() {
+		final DocumentTypeIndex<T> index = getIndex();
+		if(index != null) {
+			return new HashSet<>(index.byDocumentType.keySet());
+		}
 		return getExtensions().stream()
 				.map(ITypedExtension::getDocumentTypes)
 				.flatMap(Collection::stream)
 				.collect(Collectors.toSet());
 	}
+
+	@Override
+	protected void extensionsChanged() {
+		super.extensionsChanged();
+		synchronized (indexLock) {
+			index = null;
+		}
+	}
+
+	private DocumentTypeIndex<T> getIndex() {
+		if(!isCachingStorage()) {
+			// The extensions are created anew on every access
+			return null;
+		}
+		DocumentTypeIndex<T> result = index;
+		if(result == null) {
+			synchronized (indexLock) {
+				result = index;
+				if(result == null) {
+					result = new DocumentTypeIndex<>(getExtensions());
+					index = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Index of the extensions by their document types. The extensions are identified
+	 * by their position in the list of all extensions, so that the extensions
+	 * for multiple document types are obtained by intersecting bit sets,
+	 * and are returned in the order of the list.
+	 * @param <T> the type of the extension
+	 */
+	private static final class DocumentTypeIndex<T extends ITypedExtension> {
+
+		private final List<T> extensions;
+		private final Map<String,BitSet> byDocumentType = new HashMap<>();
+		private final BitSet generic = new BitSet();
+
+		DocumentTypeIndex(final Collection<T> extensions) {
+			this.extensions = new ArrayList<>(extensions);
+			for(int i = 0; i < this.extensions.size(); i++) {
+				final T extension = this.extensions.get(i);
+				for(String documentType : extension.getDocumentTypes()) {
+					byDocumentType.computeIfAbsent(documentType, unused -> new BitSet()).set(i);
+				}
+				if(extension.isGeneric()) {
+					generic.set(i);
+				}
+			}
+		}
+
+		Collection<T> getExtensions(final Collection<String> documentTypes, final boolean includeGeneric) {
+			final BitSet result = new BitSet();
+			final Iterator<String> iterator = documentTypes.iterator();
+			if(!iterator.hasNext()) {
+				// All extensions support all of no document types
+				result.set(0, extensions.size());
+			} else {
+				final BitSet first = byDocumentType.get(iterator.next());
+				if(first != null) {
+					result.or(first);
+					while(iterator.hasNext() && !result.isEmpty()) {
+						final BitSet next = byDocumentType.get(iterator.next());
+						if(next == null) {
+							result.clear();
+						} else {
+							result.and(next);
+						}
+					}
+				}
+			}
+			if(includeGeneric) {
+				result.or(generic);
+			}
+			return getExtensions(result);
+		}
+
+		Collection<T> getExtensions(final BitSet positions) {
+			final List<T> result = new ArrayList<>(positions.cardinality());
+			for(int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+				result.add(extensions.get(i));
+			}
+			return result;
+		}
+	}
 }
@@ -57,4 +57,9 @@ public class CachingExtensionManagerStorage<T extends IExtension> implements IEx
 	public Optional<? extends T> getExtension(String id) {
 		return Optional.ofNullable(extensions.get(id));
 	}
+
+	@Override
+	public boolean isCaching() {
+		return true;
+	}
 }
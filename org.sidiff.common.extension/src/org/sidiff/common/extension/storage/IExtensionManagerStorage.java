@@ -18,4 +18,13 @@ public interface IExtensionManagerStorage<T extends IExtension> {
 	void removeExtension(String id);
 	void clearExtensions();
 	Optional<? extends T> getExtension(String id);
+
+	/**
+	 * Returns whether this storage returns the same extension instances until it is modified,
+	 * such that extension managers may index the extensions.
+	 * @return <code>true</code> if the extensions are cached, <code>false</code> otherwise
+	 */
+	default boolean isCaching() {
+		return false;
+	}
 }
@@ -225,31 +225,42 @@ public final class ExperimentalUtil implements Serializable {
 		ArrayList<String> expRuns = new ArrayList<String>(experimentRuns.keySet());
 		Collections.sort(expRuns);
 
+		// The statistics are copied by the getters, so fetch them once per run
+		List<Map<String, Integer>> countStatistics = new ArrayList<Map<String, Integer>>();
+		List<Map<String, Long>> timeStatistics = new ArrayList<Map<String, Long>>();
+		List<Map<String, Integer>> sizeStatistics = new ArrayList<Map<String, Integer>>();
+		for (String run : expRuns) {
+			StatisticsUtil statistics = experimentRuns.get(run);
+			countStatistics.add(statistics.getCountStatistic());
+			timeStatistics.add(statistics.getTimeStatistic());
+			sizeStatistics.add(statistics.getSizeStatistic());
+		}
+
 		// All experiment runs need to have values for all series
-		for (String countSer : experimentRuns.get(expRuns.get(0)).getCountStatistic().keySet()) {
+		for (String countSer : countStatistics.get(0).keySet()) {
 			Number[] countValues = new Number[experimentRuns.size()];
 			int i = 0;
-			for (String run : expRuns) {
-				countValues[i] = (Number) experimentRuns.get(run).getCountStatistic().get(countSer);
+			for (Map<String, Integer> countStatistic : countStatistics) {
+				countValues[i] = countStatistic.get(countSer);
 				i++;
 			}
 			countValueMap.put(countSer, countValues);
 		}
-		for (String timeSer : experimentRuns.get(expRuns.get(0)).getTimeStatistic().keySet()) {
+		for (String timeSer : timeStatistics.get(0).keySet()) {
 			Number[] timeValues = new Number[experimentRuns.size()];
 			int i = 0;
-			for (String run : expRuns) {
-				timeValues[i] = (Number) experimentRuns.get(run).getTimeStatistic().get(timeSer);
+			for (Map<String, Long> timeStatistic : timeStatistics) {
+				timeValues[i] = timeStatistic.get(timeSer);
 				i++;
 
 			}
 			timeValueMap.put(timeSer, timeValues);
 		}
-		for (String sizeSer : experimentRuns.get(expRuns.get(0)).getSizeStatistic().keySet()) {
+		for (String sizeSer : sizeStatistics.get(0).keySet()) {
 			Number[] sizeValues = new Number[experimentRuns.size()];
 			int i = 0;
-			for (String run : expRuns) {
-				sizeValues[i] = (Number) experimentRuns.get(run).getSizeStatistic().get(sizeSer);
+			for (Map<String, Integer> sizeStatistic : sizeStatistics) {
+				sizeValues[i] = sizeStatistic.get(sizeSer);
 				i++;
 
 			}
@@ -385,31 +396,42 @@ public final class ExperimentalUtil implements Serializable {
 		ArrayList<String> expRuns = new ArrayList<String>(experimentRuns.keySet());
 		Collections.sort(expRuns);
 
+		// The statistics are copied by the getters, so fetch them once per run
+		List<Map<String, Integer>> countStatistics = new ArrayList<Map<String, Integer>>();
+		List<Map<String, Long>> timeStatistics = new ArrayList<Map<String, Long>>();
+		List<Map<String, Integer>> sizeStatistics = new ArrayList<Map<String, Integer>>();
+		for (String run : expRuns) {
+			StatisticsUtil statistics = experimentRuns.get(run);
+			countStatistics.add(statistics.getCountStatistic());
+			timeStatistics.add(statistics.getTimeStatistic());
+			sizeStatistics.add(statistics.getSizeStatistic());
+		}
+
 		// All experiment runs need to have values for all series
-		for (String countSer : experimentRuns.get(expRuns.get(0)).getCountStatistic().keySet()) {
+		for (String countSer : countStatistics.get(0).keySet()) {
 			Number[] countValues = new Number[experimentRuns.size()];
 			int i = 0;
-			for (String run : expRuns) {
-				countValues[i] = (Number) experimentRuns.get(run).getCountStatistic().get(countSer);
+			for (Map<String, Integer> countStatistic : countStatistics) {
+				countValues[i] = countStatistic.get(countSer);
 				i++;
 			}
 			countValueMap.put(countSer, countValues);
 		}
-		for (String timeSer : experimentRuns.get(expRuns.get(0)).getTimeStatistic().keySet()) {
+		for (String timeSer : timeStatistics.get(0).keySet()) {
 			Number[] timeValues = new Number[experimentRuns.size()];
 			int i = 0;
-			for (String run : expRuns) {
-				timeValues[i] = (Number) experimentRuns.get(run).getTimeStatistic().get(timeSer);
+			for (Map<String, Long> timeStatistic : timeStatistics) {
+				timeValues[i] = timeStatistic.get(timeSer);
 				i++;
 
 			}
 			timeValueMap.put(timeSer, timeValues);
 		}
-		for (String sizeSer : experimentRuns.get(expRuns.get(0)).getSizeStatistic().keySet()) {
+		for (String sizeSer : sizeStatistics.get(0).keySet()) {
 			Number[] sizeValues = new Number[experimentRuns.size()];
 			int i = 0;
-			for (String run : expRuns) {
-				sizeValues[i] = (Number) experimentRuns.get(run).getSizeStatistic().get(sizeSer);
+			for (Map<String, Integer> sizeStatistic : sizeStatistics) {
+				sizeValues[i] = sizeStatistic.get(sizeSer);
 				i++;
 
 			}
@@ -453,21 +475,15 @@ public final class ExperimentalUtil implements Serializable {
 
 		if (st == StatisticType.Count) {
 			measurementTitle = "Counted Iterations";
-			for (String series : experimentRuns.get(experimentRun).getCountStatistic().keySet()) {
-				valueMap.put(series, (Number) experimentRuns.get(experimentRun).getCountStatistic().get(series));
-			}
+			valueMap.putAll(experimentRuns.get(experimentRun).getCountStatistic());
 		}
 		if (st == StatisticType.Size) {
 			measurementTitle = "Number of Elements";
-			for (String series : experimentRuns.get(experimentRun).getSizeStatistic().keySet()) {
-				valueMap.put(series, (Number) experimentRuns.get(experimentRun).getSizeStatistic().get(series));
-			}
+			valueMap.putAll(experimentRuns.get(experimentRun).getSizeStatistic());
 		}
 		if (st == StatisticType.Time) {
 			measurementTitle = "TimeConsumption(ms)";
-			for (String series : experimentRuns.get(experimentRun).getTimeStatistic().keySet()) {
-				valueMap.put(series, (Number) experimentRuns.get(experimentRun).getTimeStatistic().get(series));
-			}
+			valueMap.putAll(experimentRuns.get(experimentRun).getTimeStatistic());
 		}
 
 		ChartsUtil.getInstance().writeChartWithoutAxes(experimentName + "\n" + experimentRun, measurementTitle, threeD,
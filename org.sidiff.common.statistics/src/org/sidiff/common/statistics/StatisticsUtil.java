@@ -2,9 +2,17 @@ package org.sidiff.common.statistics;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Utility class for counting things or measuring times.
+ * <p>
+ * The statistics can be recorded by multiple threads concurrently. Counters are
+ * {@link LongAdder}s, and the start times of time measurements are stored per thread,
+ * so that threads measuring the same key do not interfere; their times are summed up.
+ * The statistics are exported as sorted snapshots.</p>
  * @author wenzel
  * @author dreuling
  * @author rmueller
@@ -30,21 +38,18 @@ public final class StatisticsUtil implements Serializable {
 		Time, Size, Count, Other;
 	}
 
-	private static final String STAT_KEY_STARTTIME = "@@STARTOF@@";
+	// The statistics are written by writeObject
+	private transient ConcurrentMap<String, Long> timeStatistic;
+	private transient ConcurrentMap<String, Integer> sizeStatistic;
+	private transient ConcurrentMap<String, LongAdder> countStatistic;
+	private transient ConcurrentMap<String, Object> otherStatistic;
+	private transient ThreadLocal<Map<String, Long>> startTimes;
+	private transient volatile boolean enabled = true;
 
-	private SortedMap<String, Long> timeStatistic;
-	private SortedMap<String, Integer> sizeStatistic;
-	private SortedMap<String, Integer> countStatistic;
-	private SortedMap<String, Object> otherStatistic;
-	private transient boolean enabled = true;
-
-	private static StatisticsUtil instance;
+	private static volatile StatisticsUtil instance;
 
 	private StatisticsUtil() {
-		this.timeStatistic = new TreeMap<>();
-		this.sizeStatistic = new TreeMap<>();
-		this.countStatistic = new TreeMap<>();
-		this.otherStatistic = new TreeMap<>();
+		init(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
 	}
 
 	private StatisticsUtil(
@@ -52,20 +57,42 @@ public final class StatisticsUtil implements Serializable {
 			Map<String, Integer> sizeStatistic,
 			Map<String, Integer> countStatistic,
 			Map<String, Object> otherStatistic) {
-		this.timeStatistic = new TreeMap<>(timeStatistic);
-		this.sizeStatistic = new TreeMap<>(sizeStatistic);
-		this.countStatistic = new TreeMap<>(countStatistic);
-		this.otherStatistic = new TreeMap<>(otherStatistic);
+		init(timeStatistic, sizeStatistic, countStatistic, otherStatistic);
+	}
+
+	private void init(
+			Map<String, Long> timeStatistic,
+			Map<String, Integer> sizeStatistic,
+			Map<String, Integer> countStatistic,
+			Map<String, Object> otherStatistic) {
+		this.timeStatistic = new ConcurrentHashMap<>(timeStatistic);
+		this.sizeStatistic = new ConcurrentHashMap<>(sizeStatistic);
+		this.countStatistic = new ConcurrentHashMap<>();
+		countStatistic.forEach((key, value) -> this.countStatistic.put(key, createCounter(value)));
+		this.otherStatistic = new ConcurrentHashMap<>(otherStatistic);
+		this.startTimes = ThreadLocal.withInitial(HashMap::new);
+	}
+
+	private static LongAdder createCounter(int value) {
+		LongAdder counter = new LongAdder();
+		counter.add(value);
+		return counter;
 	}
 
 	/**
 	 * @return {@link StatisticsUtil} the singleton instance.
 	 */
 	public static StatisticsUtil getInstance() {
-		if (instance == null) {
-			instance = new StatisticsUtil();
+		StatisticsUtil result = instance;
+		if (result == null) {
+			synchronized (StatisticsUtil.class) {
+				result = instance;
+				if (result == null) {
+					result = instance = new StatisticsUtil();
+				}
+			}
 		}
-		return instance;
+		return result;
 	}
 
 	/**
@@ -124,28 +151,70 @@ public final class StatisticsUtil implements Serializable {
 		getInstance().setEnabled(true);
 	}
 
+	/**
+	 * Returns a snapshot of the time statistics. The snapshot is sorted by key and read-only;
+	 * it is copied on every call, so callers should fetch it once instead of per access.
+	 * @return read-only snapshot of the time statistics
+	 */
 	public Map<String, Long> getTimeStatistic() {
-		return timeStatistic;
+		return Collections.unmodifiableMap(timeSnapshot());
 	}
 
+	/**
+	 * Returns a snapshot of the size statistics. The snapshot is sorted by key and read-only;
+	 * it is copied on every call, so callers should fetch it once instead of per access.
+	 * @return read-only snapshot of the size statistics
+	 */
 	public Map<String, Integer> getSizeStatistic() {
-		return sizeStatistic;
+		return Collections.unmodifiableMap(sizeSnapshot());
 	}
 
+	/**
+	 * Returns a snapshot of the count statistics. The snapshot is sorted by key and read-only;
+	 * it is copied on every call, so callers should fetch it once instead of per access.
+	 * @return read-only snapshot of the count statistics
+	 */
 	public Map<String, Integer> getCountStatistic() {
-		return countStatistic;
+		return Collections.unmodifiableMap(countSnapshot());
 	}
 
+	/**
+	 * Returns a snapshot of the other statistics. The snapshot is sorted by key and read-only;
+	 * it is copied on every call, so callers should fetch it once instead of per access.
+	 * @return read-only snapshot of the other statistics
+	 */
 	public Map<String, Object> getOtherStatistic() {
-		return otherStatistic;
+		return Collections.unmodifiableMap(otherSnapshot());
+	}
+
+	private TreeMap<String, Long> timeSnapshot() {
+		return new TreeMap<>(timeStatistic);
 	}
 
+	private TreeMap<String, Integer> sizeSnapshot() {
+		return new TreeMap<>(sizeStatistic);
+	}
+
+	private TreeMap<String, Integer> countSnapshot() {
+		TreeMap<String, Integer> snapshot = new TreeMap<>();
+		countStatistic.forEach((key, counter) -> snapshot.put(key, counter.intValue()));
+		return snapshot;
+	}
+
+	private TreeMap<String, Object> otherSnapshot() {
+		return new TreeMap<>(otherStatistic);
+	}
+
+	/**
+	 * @param type the type of the statistics
+	 * @return read-only snapshot of the statistics of the given type, sorted by key
+	 */
 	public Map<String, ?> getStatistic(StatisticType type) {
 		switch(type) {
-			case Time: return timeStatistic;
-			case Size: return sizeStatistic;
-			case Count: return countStatistic;
-			case Other: return otherStatistic;
+			case Time: return getTimeStatistic();
+			case Size: return getSizeStatistic();
+			case Count: return getCountStatistic();
+			case Other: return getOtherStatistic();
 			default: return null;
 		}
 	}
@@ -166,6 +235,7 @@ public final class StatisticsUtil implements Serializable {
 		this.sizeStatistic.clear();
 		this.countStatistic.clear();
 		this.otherStatistic.clear();
+		this.startTimes.get().clear();
 	}
 
 	/**
@@ -239,43 +309,44 @@ public final class StatisticsUtil implements Serializable {
 	}
 
 	/**
-	 * Starts the measurement of time for a given key.
+	 * Starts the measurement of time for a given key in the current thread.
 	 *
 	 * @param key
 	 */
 	public void start(String key) {
 		if (enabled) {
-			long time = timeStatistic.getOrDefault(key, 0L);
-			timeStatistic.put(STAT_KEY_STARTTIME + key, System.currentTimeMillis() - time);
+			startTimes.get().put(key, System.currentTimeMillis());
 		}
 	}
 
 	/**
-	 * Stop the measurement of time for a given key. The time difference between the start time and the stop time will be stored.
+	 * Stop the measurement of time for a given key in the current thread.
+	 * The time difference between the start time and the stop time will be added to the time of the key.
 	 *
 	 * @param key
-	 * @return
+	 * @return the total time of the key in seconds, 0 if the measurement has not been started
 	 */
 	public float stop(String key) {
 		if (enabled) {
 			long stop = System.currentTimeMillis();
-			Long startO = timeStatistic.remove(STAT_KEY_STARTTIME + key);
-			long start = startO == null ? 0 : startO.longValue();
-			long time = stop - start;
-			timeStatistic.put(key, time);
+			Long start = startTimes.get().remove(key);
+			if (start == null) {
+				return 0;
+			}
+			long time = timeStatistic.merge(key, stop - start, Long::sum);
 			return time / 1000f;
 		}
 		return 0;
 	}
 
 	/**
-	 * Removes the measurement of time for a given key.
+	 * Removes the measurement of time for a given key in the current thread.
 	 *
 	 * @param key
 	 */
 	public void resetTime(String key) {
 		if (enabled) {
-			timeStatistic.remove(STAT_KEY_STARTTIME + key);
+			startTimes.get().remove(key);
 		}
 	}
 
@@ -334,6 +405,7 @@ public final class StatisticsUtil implements Serializable {
 
 	/**
 	 * Stores an arbitrary data value for the given key.
+	 * A <code>null</code> value removes the data.
 	 *
 	 * @param key
 	 * @param value
@@ -354,29 +426,30 @@ public final class StatisticsUtil implements Serializable {
 			switch(type) {
 				case Count:
 					if(value instanceof Integer) {
-						countStatistic.put(key, (Integer)value);
-					} else {
-						otherStatistic.put(key, value);
+						countStatistic.put(key, createCounter((Integer)value));
 					}
 					break;
 				case Size:
 					if(value instanceof Integer) {
 						sizeStatistic.put(key, (Integer)value);
-					} else {
-						otherStatistic.put(key, value);
 					}
 					break;
 				case Time:
 					if(value instanceof Long) {
 						timeStatistic.put(key, (Long)value);
-					} else {
-						otherStatistic.put(key, value);
 					}
 					break;
 				case Other:
-					otherStatistic.put(key, value);
 					break;
 			}
+			putOther(key, value);
+		}
+	}
+
+	private void putOther(String key, Object value) {
+		if (value == null) {
+			otherStatistic.remove(key);
+		} else {
 			otherStatistic.put(key, value);
 		}
 	}
@@ -425,7 +498,7 @@ public final class StatisticsUtil implements Serializable {
 	 */
 	public int getSize(String key) {
 		if (enabled) {
-			return sizeStatistic.get(key);
+			return sizeStatistic.getOrDefault(key, 0);
 		}
 		return 0;
 	}
@@ -437,8 +510,11 @@ public final class StatisticsUtil implements Serializable {
 	 * @return
 	 */
 	public int getCounter(String key) {
-		if (enabled && countStatistic.get(key) != null) {
-			return countStatistic.get(key);
+		if (enabled) {
+			LongAdder counter = countStatistic.get(key);
+			if (counter != null) {
+				return counter.intValue();
+			}
 		}
 		return 0;
 	}
@@ -450,7 +526,7 @@ public final class StatisticsUtil implements Serializable {
 	 */
 	public void resetCounter(String key) {
 		if (enabled) {
-			countStatistic.put(key, 0);
+			countStatistic.put(key, new LongAdder());
 		}
 	}
 
@@ -461,7 +537,15 @@ public final class StatisticsUtil implements Serializable {
 	 */
 	public void count(String key) {
 		if (enabled) {
-			countStatistic.compute(key, (k, v) -> v == null ? 0 : v+1);
+			LongAdder counter = countStatistic.get(key);
+			if (counter == null) {
+				// The first count only creates the counter with the value 0
+				counter = countStatistic.putIfAbsent(key, new LongAdder());
+				if (counter == null) {
+					return;
+				}
+			}
+			counter.increment();
 		}
 	}
 
@@ -525,10 +609,10 @@ public final class StatisticsUtil implements Serializable {
 	 */
 	public void writeToCsv(String file) throws IOException {
 		Map<String, List<Object>> map = new HashMap<>();
-		addToMap(map, timeStatistic, 0);
-		addToMap(map, sizeStatistic, 1);
-		addToMap(map, countStatistic, 2);
-		addToMap(map, otherStatistic, 3);
+		addToMap(map, getTimeStatistic(), 0);
+		addToMap(map, getSizeStatistic(), 1);
+		addToMap(map, getCountStatistic(), 2);
+		addToMap(map, getOtherStatistic(), 3);
 		fillMap(map, 4);
 		setDefaultToMap(map, "", 0);
 		setDefaultToMap(map, "", 1);
@@ -557,10 +641,10 @@ public final class StatisticsUtil implements Serializable {
 	 */
 	public Map<String, Object> getUnifiedStatistics() {
 		List<Map<String, ?>> maps = new ArrayList<>();
-		maps.add(timeStatistic);
-		maps.add(sizeStatistic);
-		maps.add(countStatistic);
-		maps.add(otherStatistic);
+		maps.add(getTimeStatistic());
+		maps.add(getSizeStatistic());
+		maps.add(getCountStatistic());
+		maps.add(getOtherStatistic());
 		List<String> extras = Arrays.asList(new String[] { "(ms)", "", "", "" });
 		Map<String, Object> result = new HashMap<>();
 		for (int i = 0; i < maps.size(); i++) {
@@ -615,10 +699,10 @@ public final class StatisticsUtil implements Serializable {
 	public void writeToCsv2(String file) throws IOException {
 		try (BufferedWriter writer = new BufferedWriter(new FileWriter(new File(file), true))) {
 			List<Map<String, ?>> maps = new ArrayList<>();
-			maps.add(timeStatistic);
-			maps.add(sizeStatistic);
-			maps.add(countStatistic);
-			maps.add(otherStatistic);
+			maps.add(getTimeStatistic());
+			maps.add(getSizeStatistic());
+			maps.add(getCountStatistic());
+			maps.add(getOtherStatistic());
 			List<String> extras = Arrays.asList("Time", "Size", "Count", "String");
 			writer.write(getCsv2Data(maps, extras));
 		}
@@ -631,13 +715,13 @@ public final class StatisticsUtil implements Serializable {
 	public void dump(StringBuilder sb) {
 		if (enabled) {
 			sb.append("*********************Statistics*********************").append(LINE_SEPERATOR);
-			dumpStatisticsSection(sb, "Time statistics (in ms):", timeStatistic);
+			dumpStatisticsSection(sb, "Time statistics (in ms):", getTimeStatistic());
 			sb.append(LINE_SEPERATOR);
-			dumpStatisticsSection(sb, "Count statistics:", countStatistic);
+			dumpStatisticsSection(sb, "Count statistics:", getCountStatistic());
 			sb.append(LINE_SEPERATOR);
-			dumpStatisticsSection(sb, "Size statistics:", sizeStatistic);
+			dumpStatisticsSection(sb, "Size statistics:", getSizeStatistic());
 			sb.append(LINE_SEPERATOR);
-			dumpStatisticsSection(sb, "Other statistics:", otherStatistic);
+			dumpStatisticsSection(sb, "Other statistics:", getOtherStatistic());
 			sb.append("**************************************************************");
 		}
 	}
@@ -663,10 +747,10 @@ public final class StatisticsUtil implements Serializable {
 	@Override
 	public String toString() {
 		return "StatisticsUtil{enabled=" + enabled
-				+ ", time=" + timeStatistic
-				+ ", size=" + sizeStatistic
-				+ ", count=" + countStatistic
-				+ ", other=" + otherStatistic
+				+ ", time=" + getTimeStatistic()
+				+ ", size=" + getSizeStatistic()
+				+ ", count=" + getCountStatistic()
+				+ ", other=" + getOtherStatistic()
 				+ "}";
 	}
 
@@ -679,10 +763,22 @@ public final class StatisticsUtil implements Serializable {
 	 */
 	@SuppressWarnings("unchecked")
 	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
-		timeStatistic = new TreeMap<>((Map<String,Long>)in.readObject());
-		sizeStatistic = new TreeMap<>((Map<String,Integer>)in.readObject());
-		countStatistic = new TreeMap<>((Map<String,Integer>)in.readObject());
-		otherStatistic = new TreeMap<>((Map<String,Object>)in.readObject());
+		init((Map<String,Long>)in.readObject(),
+				(Map<String,Integer>)in.readObject(),
+				(Map<String,Integer>)in.readObject(),
+				(Map<String,Object>)in.readObject());
 		enabled = true;
 	}
+
+	/**
+	 * Writes the statistics as sorted maps, in the order expected by {@link #readObject(ObjectInputStream)}.
+	 * @param out object output stream
+	 * @throws IOException
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.writeObject(timeSnapshot());
+		out.writeObject(sizeSnapshot());
+		out.writeObject(countSnapshot());
+		out.writeObject(otherSnapshot());
+	}
 }
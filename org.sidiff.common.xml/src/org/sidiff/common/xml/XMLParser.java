@@ -2,6 +2,9 @@ package org.sidiff.common.xml;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 
 import javax.xml.parsers.SAXParserFactory;
 import javax.xml.xpath.XPath;
@@ -23,14 +26,22 @@ import org.xml.sax.SAXParseException;
 import org.xml.sax.XMLReader;
 
 /**
- * Utility class for parsing XML documents.
+ * Utility class for parsing XML documents. The parsers are not thread-safe,
+ * so every thread uses its own parsers, and the methods of this class can
+ * be used by multiple threads concurrently.
  */
 public class XMLParser {
 
 	public static final String DEFAULT_PARSER_NAME_SAX = "org.apache.xerces.parsers.SAXParser";
-	
-	private static DOMParser domParser = createDOMParser();
-	private static XMLReader saxParser = createSAXParser();
+
+	private static final ThreadLocalParser<DOMParser> domParser = new ThreadLocalParser<>(XMLParser::createDOMParser);
+	private static final ThreadLocalParser<XMLReader> saxParser = new ThreadLocalParser<>(XMLParser::createSAXParser);
+
+	/**
+	 * Incremented whenever a parser feature is changed, so that
+	 * the parsers of all threads are recreated with the new features.
+	 */
+	private static volatile int featuresVersion;
 
 	private XMLParser() {
 	}
@@ -67,18 +78,17 @@ public class XMLParser {
 
 		Document result = null;
 
-		synchronized (domParser)
-		{
-			try {
-				domParser.parse(xmlinput);
-			} catch (IOException e) {
-				throw new SiDiffRuntimeException("IO Error while parsing DOM", e);
-			} catch (SAXException e) {
-				throw new SiDiffRuntimeException("SAX Error while parsing DOM", e);
-			} finally {
-				result = domParser.getDocument();
-				domParser.reset();
-			}
+		DOMParser parser = domParser.acquire();
+		try {
+			parser.parse(xmlinput);
+		} catch (IOException e) {
+			throw new SiDiffRuntimeException("IO Error while parsing DOM", e);
+		} catch (SAXException e) {
+			throw new SiDiffRuntimeException("SAX Error while parsing DOM", e);
+		} finally {
+			result = parser.getDocument();
+			parser.reset();
+			domParser.release(parser);
 		}
 
 		return result;
@@ -91,20 +101,18 @@ public class XMLParser {
 	 * @param contentHandler
 	 */
 	public static void parseXML(InputSource xmlinput, ContentHandler contentHandler) {
-		
-		synchronized (saxParser) {
-
-			saxParser.setContentHandler(contentHandler);
-			try {
-				saxParser.parse(xmlinput);
-			} catch (IOException e) {
-				throw new SiDiffRuntimeException("IO Error while parsing " + xmlinput + " with " + contentHandler, e);
-			} catch (SAXException e) {
-				throw new SiDiffRuntimeException("SAX Error while parsing " + xmlinput + " with " + contentHandler, e);
-			} finally {
-				saxParser.setContentHandler(null);
-			}
 
+		XMLReader parser = saxParser.acquire();
+		parser.setContentHandler(contentHandler);
+		try {
+			parser.parse(xmlinput);
+		} catch (IOException e) {
+			throw new SiDiffRuntimeException("IO Error while parsing " + xmlinput + " with " + contentHandler, e);
+		} catch (SAXException e) {
+			throw new SiDiffRuntimeException("SAX Error while parsing " + xmlinput + " with " + contentHandler, e);
+		} finally {
+			parser.setContentHandler(null);
+			saxParser.release(parser);
 		}
 
 	}
@@ -116,6 +124,7 @@ public class XMLParser {
 	 */
 	public static void setFeature(ParserFeature feature, boolean value) {
 		feature.featureValue = value;
+		featuresVersion++;
 	}
 
 	/**
@@ -195,6 +204,53 @@ public class XMLParser {
 		}
 	}
 
+	/**
+	 * Holds one parser per thread, which is created on first use and recreated
+	 * when the parser features have changed. If a parser is acquired again while
+	 * it is in use, e.g. by a content handler which parses another document,
+	 * a new parser is created for the nested use.
+	 */
+	private static class ThreadLocalParser<T> {
+
+		private final Supplier<T> factory;
+		private final ThreadLocal<CachedParser<T>> cachedParser = new ThreadLocal<>();
+
+		ThreadLocalParser(Supplier<T> factory) {
+			this.factory = factory;
+		}
+
+		T acquire() {
+			CachedParser<T> cached = cachedParser.get();
+			if(cached == null || cached.featuresVersion != featuresVersion) {
+				cached = new CachedParser<>(factory.get(), featuresVersion);
+				cachedParser.set(cached);
+			} else if(cached.inUse) {
+				return factory.get();
+			}
+			cached.inUse = true;
+			return cached.parser;
+		}
+
+		void release(T parser) {
+			CachedParser<T> cached = cachedParser.get();
+			if(cached != null && cached.parser == parser) {
+				cached.inUse = false;
+			}
+		}
+	}
+
+	private static class CachedParser<T> {
+
+		private final T parser;
+		private final int featuresVersion;
+		private boolean inUse;
+
+		CachedParser(T parser, int featuresVersion) {
+			this.parser = parser;
+			this.featuresVersion = featuresVersion;
+		}
+	}
+
 	private static class XMLErrorHander implements ErrorHandler {
 
 		@Override
@@ -214,19 +270,37 @@ public class XMLParser {
 
 	}
 	
-	// XPathFactory and XPath for queries
-	private static XPathFactory factory = XPathFactory.newInstance();
-	private static XPath xpath = factory.newXPath();
+	// The maximum number of compiled XPath expressions per thread
+	private static final int XPATH_CACHE_SIZE = 64;
+
+	// XPath and compiled expressions for queries; neither of them is thread-safe
+	private static final ThreadLocal<XPath> xpath =
+			ThreadLocal.withInitial(() -> XPathFactory.newInstance().newXPath());
+	private static final ThreadLocal<Map<String,XPathExpression>> xpathExpressions =
+			ThreadLocal.withInitial(() -> new LinkedHashMap<String,XPathExpression>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String,XPathExpression> eldest) {
+					return size() > XPATH_CACHE_SIZE;
+				}
+			});
 
 	/**
-	 * executes XPath queries on a given document represented as DOM
+	 * executes XPath queries on a given document represented as DOM.
+	 * The compiled expressions of recently used queries are cached.
 	 * @param context The context of the expression, an XML document or node for example.
 	 * @param expressionString the XPath query
 	 * @return
 	 */
 	public static NodeList processXPath(Object context, String expressionString) {
 		try {
-			XPathExpression expression = xpath.compile(expressionString);
+			Map<String,XPathExpression> expressions = xpathExpressions.get();
+			XPathExpression expression = expressions.get(expressionString);
+			if(expression == null) {
+				expression = xpath.get().compile(expressionString);
+				expressions.put(expressionString, expression);
+			}
 			return (NodeList) expression.evaluate(context, XPathConstants.NODESET);
 		} catch (Exception e) {
 			return null;
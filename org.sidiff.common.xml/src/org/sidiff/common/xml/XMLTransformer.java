@@ -1,6 +1,7 @@
 package org.sidiff.common.xml;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -10,23 +11,50 @@ import java.io.InputStream;
 import java.io.OutputStreamWriter;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import javax.xml.transform.Result;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.sax.SAXSource;
 import javax.xml.transform.stream.StreamResult;
 
 import org.sidiff.common.exceptions.SiDiffRuntimeException;
+import org.sidiff.common.file.DigestUtil;
+import org.sidiff.common.io.IOUtil;
 import org.sidiff.common.logging.LogEvent;
 import org.sidiff.common.logging.LogUtil;
 import org.xml.sax.InputSource;
 
 /**
  * Utility class to transform XML documents.
+ * <p>
+ * The compiled stylesheets are cached, identified by their URI or the hash of their content,
+ * so that a stylesheet is only compiled once when transforming many documents.
+ * <b>-DXSLTCACHESIZE=x</b> Defines the maximum number of cached stylesheets, default: 16</p>
  */
 public class XMLTransformer {
 
+	private static final String PROPERTY_NAME_CACHE_SIZE = "XSLTCACHESIZE";
+	private static final int DEFAULT_CACHE_SIZE = 16;
+
+	private static int templatesCacheSize = Integer.getInteger(PROPERTY_NAME_CACHE_SIZE, DEFAULT_CACHE_SIZE);
+
+	/**
+	 * The compiled stylesheets, least recently used first.
+	 */
+	private static final Map<String, Templates> templatesCache = new LinkedHashMap<String, Templates>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Templates> eldest) {
+			return size() > templatesCacheSize;
+		}
+	};
+
 	/**
 	 * Transforms the given XML input stream with the given XSLT and returns the transformation result as a new input stream.
 	 * @param xmlDataStream
@@ -35,7 +63,20 @@ public class XMLTransformer {
 	 */
 	public static InputStream transform(InputStream xmlDataStream, InputStream xsltData) {
 		StringWriter result = new StringWriter();
-		transform(new InputSource(xmlDataStream), new StreamResult(result), new InputSource(xsltData));
+		transform(new InputSource(xmlDataStream), new StreamResult(result), getTemplates(xsltData));
+		return new ByteArrayInputStream(result.toString().getBytes());
+	}
+
+	/**
+	 * Transforms the given XML input stream with the XSLT at the given URI and returns the transformation result as a new input stream.
+	 * Relative references in the XSLT are resolved against its URI.
+	 * @param xmlDataStream
+	 * @param xsltUri
+	 * @return
+	 */
+	public static InputStream transform(InputStream xmlDataStream, String xsltUri) {
+		StringWriter result = new StringWriter();
+		transform(new InputSource(xmlDataStream), new StreamResult(result), getTemplates(xsltUri));
 		return new ByteArrayInputStream(result.toString().getBytes());
 	}
 	
@@ -55,7 +96,7 @@ public class XMLTransformer {
 		}
 
 		StringWriter result = new StringWriter();
-		transform(new InputSource(xmlDataStream), new StreamResult(result), new InputSource(xsltData));
+		transform(new InputSource(xmlDataStream), new StreamResult(result), getTemplates(xsltData));
 		try (Writer mout = new OutputStreamWriter(new FileOutputStream(tmpFile.getAbsolutePath()))) {
 			mout.write(result.toString());
 		} catch (IOException e) {
@@ -71,11 +112,83 @@ public class XMLTransformer {
 		}
 	}
 	
-	private static void transform(InputSource source, Result result, InputSource transformScript) {
+	/**
+	 * Sets the maximum number of cached stylesheets. If the cache contains more
+	 * stylesheets, the least recently used ones are removed on the next access.
+	 * @param size the maximum number of cached stylesheets, 0 to disable the cache
+	 */
+	public static void setTemplatesCacheSize(int size) {
+		if (size < 0) {
+			throw new IllegalArgumentException("Invalid cache size: " + size);
+		}
+		synchronized (templatesCache) {
+			templatesCacheSize = size;
+			if (size == 0) {
+				templatesCache.clear();
+			}
+		}
+	}
+
+	/**
+	 * Removes all cached stylesheets, e.g. because stylesheet files have been changed.
+	 */
+	public static void clearTemplatesCache() {
+		synchronized (templatesCache) {
+			templatesCache.clear();
+		}
+	}
+
+	private static Templates getTemplates(InputStream xsltData) {
+		byte[] xslt;
+		String key;
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			IOUtil.transfer(xsltData, out);
+			xslt = out.toByteArray();
+			key = "md5:" + xslt.length + ":" + toHexString(DigestUtil.calculateMD5(new ByteArrayInputStream(xslt)));
+		} catch (IOException e) {
+			throw new SiDiffRuntimeException("Error while reading transformation script!", e);
+		}
+		return getTemplates(key, new InputSource(new ByteArrayInputStream(xslt)));
+	}
+
+	private static Templates getTemplates(String xsltUri) {
+		return getTemplates("uri:" + xsltUri, new InputSource(xsltUri));
+	}
+
+	private static Templates getTemplates(String key, InputSource transformScript) {
+		Templates templates;
+		synchronized (templatesCache) {
+			templates = templatesCache.get(key);
+		}
+		if (templates == null) {
+			// Compiled without holding the lock, the same script may be compiled concurrently
+			try {
+				templates = TransformerFactory.newInstance().newTemplates(new SAXSource(transformScript));
+			} catch (TransformerConfigurationException e) {
+				throw new SiDiffRuntimeException("Error while compiling transformation script!", e);
+			}
+			synchronized (templatesCache) {
+				if (templatesCacheSize > 0) {
+					templatesCache.put(key, templates);
+				}
+			}
+		}
+		return templates;
+	}
+
+	private static String toHexString(byte[] bytes) {
+		StringBuilder result = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			result.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return result.toString();
+	}
+
+	private static void transform(InputSource source, Result result, Templates templates) {
 
-		TransformerFactory tFactory = TransformerFactory.newInstance();
 		try {
-			Transformer transformer = tFactory.newTransformer(new SAXSource(transformScript));
+			Transformer transformer = templates.newTransformer();
 			// Benoetigt um Referenzen im Transformationsskript aufzuloesen (auch in dort geladenen Dokumenten)
 			transformer.setURIResolver(XMLResolver.getInstance());
 			LogUtil.log(LogEvent.NOTICE, "Using Transformer " + transformer.getClass().getName());
@@ -23,6 +23,10 @@ public class LCSUtil {
 	public static <T, X> int compareSequenceByEqualSubsequence(T sequenceA, T sequenceB, LCSSequenceAccessorEqualSubsequence<T, X> accessor) {
 		int n = accessor.size(sequenceA);
 		int m = accessor.size(sequenceB);
+		if (n == 0 || m == 0) {
+			// Nothing in common, the diagonals below require at least one element
+			return 0;
+		}
 		int max = m + n;
 
 		// Enthält den jeweiligen am weitesten reichenden Endpunkt für die Diagonale
@@ -63,6 +67,100 @@ public class LCSUtil {
 		return -1;
 	}
 
+	/**
+	 * Works like <code>compareSequenceByEqualSubsequence</code> for sequences of characters,
+	 * but compares the primitive characters directly instead of using an accessor.
+	 *
+	 * @param sequenceA
+	 *            The sequence A
+	 * @param sequenceB
+	 *            The sequence B
+	 * @return The calculated lcs value.
+	 */
+	public static int compareSequenceByEqualSubsequence(char[] sequenceA, char[] sequenceB) {
+		return compareSequenceByEqualSubsequence(sequenceA, sequenceB, sequenceA.length + sequenceB.length);
+	}
+
+	/**
+	 * Works like <code>compareSequenceByEqualSubsequence</code> for sequences of characters, but gives up
+	 * as soon as the sequences are known to differ in more than the given number of insertions and deletions.
+	 * Since the lcs value is <code>(n + m - distance) / 2</code>, the distance limit corresponds to a minimum lcs value.
+	 * Only the diagonals within the distance limit are kept, so time and memory are bounded by the limit.
+	 *
+	 * @param sequenceA
+	 *            The sequence A
+	 * @param sequenceB
+	 *            The sequence B
+	 * @param maxDistance
+	 *            The maximum number of insertions and deletions
+	 * @return The calculated lcs value if the sequences are within the distance limit; Otherwise -1.
+	 */
+	public static int compareSequenceByEqualSubsequence(char[] sequenceA, char[] sequenceB, int maxDistance) {
+		int n = sequenceA.length;
+		int m = sequenceB.length;
+		int max = Math.min(m + n, maxDistance);
+		if (max < Math.abs(n - m)) {
+			// The length difference alone exceeds the limit
+			return -1;
+		}
+		if (n == 0 || m == 0) {
+			return 0;
+		}
+		int offset = max + 1;
+		int[] v = new int[2 * max + 3];
+		for (int d = 0; d <= max; d++) {
+			for (int k = -d; k <= d; k = k + 2) {
+				int x = (k == -d || k != d && v[k - 1 + offset] < v[k + 1 + offset]) ? v[k + 1 + offset] : v[k - 1 + offset] + 1;
+				int y = x - k;
+				while (x < n && y < m && sequenceA[x] == sequenceB[y]) {
+					x++;
+					y++;
+				}
+				v[k + offset] = x;
+				if (x >= n && y >= m) {
+					return (m + n - d) / 2;
+				}
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Works like <code>compareSequenceByEqualSubsequence</code> for sequences of integers, e.g. of
+	 * element IDs, but compares the primitive integers directly instead of using an accessor.
+	 *
+	 * @param sequenceA
+	 *            The sequence A
+	 * @param sequenceB
+	 *            The sequence B
+	 * @return The calculated lcs value.
+	 */
+	public static int compareSequenceByEqualSubsequence(int[] sequenceA, int[] sequenceB) {
+		int n = sequenceA.length;
+		int m = sequenceB.length;
+		if (n == 0 || m == 0) {
+			// Nothing in common, the diagonals below require at least one element
+			return 0;
+		}
+		int max = m + n;
+		int[] v = new int[2 * max + 1];
+		for (int d = 0; d <= max; d++) {
+			for (int k = -d; k <= d; k = k + 2) {
+				int x = (k == -d || k != d && v[k - 1 + max] < v[k + 1 + max]) ? v[k + 1 + max] : v[k - 1 + max] + 1;
+				int y = x - k;
+				while (x < n && y < m && sequenceA[x] == sequenceB[y]) {
+					x++;
+					y++;
+				}
+				v[k + max] = x;
+				if (x >= n && y >= m) {
+					return (m + n - d) / 2;
+				}
+			}
+		}
+		return -1;
+	}
+
 	/**
 	 * Works like <code>compareSequenceByEqualSubsequence</code> with the difference that not the equality of the longest subsequence is necessary. In this case a similarity about the given threshold is sufficient.
 	 *
@@ -76,16 +174,18 @@ public class LCSUtil {
 	 *            The threshold indicating the necessary similarity which to elements must have to be detected as adequate equal
 	 * @return The sequences' similarity if similarity detected; Otherwise -1.
 	 */
-	@SuppressWarnings("unchecked")
 	public static <T,X> float compareSequenceBySimilarSubsequence(T sequenceA, T sequenceB,
 			LCSSequenceAccessorSimilarSubsequence<T,X> accessor, float threshold) {
 		int n = accessor.size(sequenceA);
 		int m = accessor.size(sequenceB);
-		int max = m + n;
-		List<X>[] commonSubSeq = new ArrayList[2 * max + 1];
-		for (int i = 0; i < commonSubSeq.length; i++) {
-			commonSubSeq[i] = new ArrayList<>();
+		if (n == 0 || m == 0) {
+			// Nothing in common, the diagonals below require at least one element
+			return 0;
 		}
+		int max = m + n;
+		// Enthält für jede Diagonale die Summe der Ähnlichkeiten entlang des am weitesten
+		// reichenden Pfades, statt der Elemente der gemeinsamen Subsequenz selbst
+		float[] similarities = new float[2 * max + 1];
 		// enthält den jeweiligen am weitesten reichenden Endpunkt für die Diagonale
 		// und wird dynamisch berechnet
 		int[] v = new int[2 * max + 1];
@@ -110,31 +210,23 @@ public class LCSUtil {
 				// y lässt sich aus x und k berechnen
 				y = x - k;
 				// Die Diagonale wir weitmöglichst durchlaufen (wird auch Snake genannt)
-				ArrayList<X> snake = new ArrayList<>();
-				while (x < n && y < m && accessor.getSimilarity(accessor.get(sequenceA, x), accessor.get(sequenceB, y)) >= threshold) {
-					snake.add(accessor.get(sequenceA, x));
-					snake.add(accessor.get(sequenceB, y));
+				// und die Ähnlichkeiten in der Reihenfolge des Pfades aufsummiert
+				float lcs = similarities[oldDiag + max];
+				while (x < n && y < m) {
+					float similarity = accessor.getSimilarity(accessor.get(sequenceA, x), accessor.get(sequenceB, y));
+					if (similarity < threshold) {
+						break;
+					}
+					lcs += similarity;
 					x = x + 1;
 					y = y + 1;
 				}
 				// v aktualisieren
 				v[k + max] = x;
-
-				// in commonSubSeq jeweils die Diagonalenpunkte merken,
-				// um später die LCS zu bestimmen
-				commonSubSeq[k + max].clear();
-				commonSubSeq[k + max].addAll(commonSubSeq[oldDiag + max]);
-				commonSubSeq[k + max].addAll(snake);
+				similarities[k + max] = lcs;
 
 				// Ziel erreicht??
 				if (x >= n && y >= m) {
-
-					float lcs = 0;
-					X[] objSequence = (X[])commonSubSeq[k + max].toArray();
-					for (int i = 0; i < objSequence.length; i += 2) {
-						lcs += accessor.getSimilarity(objSequence[i], objSequence[i + 1]);
-					}
-
 					return lcs;
 				}
 
@@ -29,7 +29,7 @@ public class StringLCSUtil {
 		else if (stringA.equals(stringB))
 			return 1.0f;
 		else {
-			int lcs = LCSUtil.compareSequenceByEqualSubsequence(stringA, stringB, new StringLCSSequenceAccessorEqualSubsequence());
+			int lcs = LCSUtil.compareSequenceByEqualSubsequence(stringA.toCharArray(), stringB.toCharArray());
 			return (float) lcs / Math.max(stringA.length(), stringB.length());
 		}
 	}
@@ -51,58 +51,109 @@ public class StringLCSUtil {
 		else if (stringA.equals(stringB))
 			return 1.0f;
 		else {
-			float lcs = LCSUtil.compareSequenceByEqualSubsequence(stringA, stringB, new StringLCSSequenceAccessorEqualIgnoreCaseSubsequence());
+			float lcs = LCSUtil.compareSequenceByEqualSubsequence(toLowerCase(stringA), toLowerCase(stringB));
 			return lcs / Math.max(stringA.length(), stringB.length());
 		}
 	}
 	
 	
 	/**
-	 * This is an implementation of the {@link LCSSequenceAccessorEqualSubsequence} interface
-	 * to allow LCS algorithm to access and compare Strings on basis of equality.
+	 * Compares two strings like {@link #compareStringConsideringCase(String, String)}, but only
+	 * determines the relative length of the longest common subsequence if it reaches the given threshold.
+	 * Dissimilar strings are rejected by comparing their lengths and character frequencies first,
+	 * and the LCS computation stops as soon as the threshold cannot be reached anymore.
 	 * 
-	 * @author Thomas Bender
+	 * @param stringA The string A
+	 * @param stringB The string B
+	 * @param threshold The minimum relative length of the longest common subsequence
+	 * @return Returns the relative length of the longest common subsequence if it reaches
+	 *         the threshold, otherwise <code>0</code>.
 	 */
-	private static final class StringLCSSequenceAccessorEqualSubsequence implements LCSSequenceAccessorEqualSubsequence<String,Character>
+	public static float compareStringConsideringCase(String stringA, String stringB, float threshold)
 	{
-		@Override
-		public Character get (String sequence, int index) {
-			  return sequence.charAt(index);
-		}
-		
-		@Override
-		public int size (String sequence) {
-			return sequence.length();
-		}
-		
-		@Override
-		public boolean areEqual (Character itemA, Character itemB) {
-			return itemA.equals (itemB);
-		}
+		if (stringA == null || stringB == null || stringA.equals(stringB))
+			return aboveThreshold(compareStringConsideringCase(stringA, stringB), threshold);
+		else
+			return compareBounded(stringA.toCharArray(), stringB.toCharArray(), threshold);
 	}
 	
 	/**
-	 * This is an implementation of the {@link LCSSequenceAccessorEqualSubsequence} interface
-	 * to allow LCS algorithm to access and compare Strings on basis of equality ignoring strings' cases.
+	 * Compares two strings like {@link #compareStringIgnoringCase(String, String)}, but only
+	 * determines the relative length of the longest common subsequence if it reaches the given threshold.
+	 * Dissimilar strings are rejected by comparing their lengths and character frequencies first,
+	 * and the LCS computation stops as soon as the threshold cannot be reached anymore.
 	 * 
-	 * @author Sven Wenzel
+	 * @param stringA The string A
+	 * @param stringB The string B
+	 * @param threshold The minimum relative length of the longest common subsequence
+	 * @return Returns the relative length of the longest common subsequence if it reaches
+	 *         the threshold, otherwise <code>0</code>.
 	 */
-	private static final class StringLCSSequenceAccessorEqualIgnoreCaseSubsequence implements LCSSequenceAccessorEqualSubsequence<String,Character>
+	public static float compareStringIgnoringCase(String stringA, String stringB, float threshold)
 	{
-		@Override
-		public Character get (String sequence, int index) {
-			  return sequence.charAt(index);
-		}
+		if (stringA == null || stringB == null || stringA.equals(stringB))
+			return aboveThreshold(compareStringIgnoringCase(stringA, stringB), threshold);
+		else
+			return compareBounded(toLowerCase(stringA), toLowerCase(stringB), threshold);
+	}
+	
+	private static float aboveThreshold(float similarity, float threshold)
+	{
+		return similarity >= threshold ? similarity : 0.0f;
+	}
+	
+	private static float compareBounded(char[] charsA, char[] charsB, float threshold)
+	{
+		int max = Math.max(charsA.length, charsB.length);
+		int min = Math.min(charsA.length, charsB.length);
 		
-		@Override
-		public int size (String sequence) {
-			return sequence.length();
-		}
+		// Smallest lcs value whose similarity reaches the threshold, computed like the similarity itself
+		int minLcs = Math.max(0, (int) Math.ceil(threshold * max));
+		while (minLcs > 0 && (float) (minLcs - 1) / max >= threshold)
+			minLcs--;
+		while (minLcs <= max && (float) minLcs / max < threshold)
+			minLcs++;
+		
+		// The lcs cannot be longer than the shorter string, nor contain a character more often than both strings
+		if (minLcs > min || minLcs > countCommonCharacters(charsA, charsB))
+			return 0.0f;
 		
-		@Override
-		public boolean areEqual (Character itemA, Character itemB) {
-			return itemA.equals(itemB) || Character.toLowerCase(itemA) == Character.toLowerCase(itemB);
+		int lcs = LCSUtil.compareSequenceByEqualSubsequence(charsA, charsB, charsA.length + charsB.length - 2 * minLcs);
+		return lcs < 0 ? 0.0f : aboveThreshold((float) lcs / max, threshold);
+	}
+	
+	/**
+	 * Returns an upper bound of the length of the longest common subsequence, i.e. the
+	 * number of characters that occur in both strings, considering their frequencies.
+	 * Only ASCII characters are counted individually, all other characters are assumed to match each other.
+	 */
+	private static int countCommonCharacters(char[] charsA, char[] charsB)
+	{
+		int[] frequencies = new int[129];
+		for (char c : charsA)
+			frequencies[Math.min(c, 128)]++;
+		int common = 0;
+		for (char c : charsB) {
+			if (frequencies[Math.min(c, 128)]-- > 0)
+				common++;
 		}
+		return common;
+	}
+	
+	/**
+	 * Returns the characters of the string, each converted to lower case.
+	 * Unlike {@link String#toLowerCase()}, the conversion is done character by character,
+	 * so that the length is preserved.
+	 * 
+	 * @param string The string
+	 * @return The lower case characters
+	 */
+	private static char[] toLowerCase(String string)
+	{
+		char[] chars = string.toCharArray();
+		for (int i = 0; i < chars.length; i++)
+			chars[i] = Character.toLowerCase(chars[i]);
+		return chars;
 	}
 
 }
@@ -1,6 +1,7 @@
 package org.sidiff.common.logging;
 
 import java.text.SimpleDateFormat;
+import java.util.List;
 
 /**
  * Interface for classes that can write log messages to a particular channel.
@@ -13,6 +14,18 @@ public interface ILogChannel {
 	 * @param event
 	 */
 	public void log(String message,LogEvent event);
+
+	/**
+	 * Prints a batch of log messages, as delivered by an asynchronous channel.
+	 * Channels that flush their output should override this method to flush only once per batch.
+	 * @param messages
+	 * @param events the events of the messages
+	 */
+	public default void log(List<String> messages, List<LogEvent> events) {
+		for (int i = 0; i < messages.size(); i++) {
+			log(messages.get(i), events.get(i));
+		}
+	}
 	
 	/**
 	 * Creates a format for time stamps.
@@ -5,6 +5,8 @@ import java.util.Calendar;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.Supplier;
 
 import org.sidiff.common.CommonPlugin;
@@ -54,6 +56,9 @@ public class LogUtil {
 	private static EnumSet<LogEvent> logevents = null; // null means do not log any event
 	private static Set<String> logmodules = null;
 
+	// The log handles of the calling classes, determined on the first message
+	private static final ConcurrentMap<String,LogHandle> handles = new ConcurrentHashMap<>();
+
 	// Static Initializer
 	static {
 		// Disable release-flag -> Additional information will be provided
@@ -196,73 +201,80 @@ public class LogUtil {
 		return logevents!=null && logevents.contains(event);
 	}
 
-	private static String getModuleName(String callerNSTokens[]){
-		// Compute module name
-		if (callerNSTokens.length > MODULE_INDEX) {
-			return callerNSTokens[MODULE_INDEX];
+	private static LogHandle getHandle(String fqCallerClassName) {
+		LogHandle handle = handles.get(fqCallerClassName);
+		if (handle == null) {
+			handle = new LogHandle(fqCallerClassName);
+			LogHandle existing = handles.putIfAbsent(fqCallerClassName, handle);
+			if (existing != null) {
+				handle = existing;
+			}
 		}
-		return "DEFAULT";
-	}
-
-	private static String getCallerName(String callerNSTokens[]){
-		// Compute caller name
-		return callerNSTokens[callerNSTokens.length-1];
+		return handle;
 	}
 
-	private static void printInternal(String fqCallerClassName, LogEvent event, Object... message) {
+	private static void printInternal(LogHandle caller, StackTraceElement source, LogEvent event, Object... message) {
+		// We have to log - Create message
+		StringBuffer logentry = new StringBuffer();
 
+		// Include timestamp into message
+		if(!IS_RELEASE&&channel.includeTimeStamp()){
+			logentry.append(sdf.format(Calendar.getInstance().getTime()));
+		}
 
-			String callerNSTokens[] = fqCallerClassName.split("\\.");
-			if(doLogModule(getModuleName(callerNSTokens))){
-				// We have to log - Create message
-				StringBuffer logentry = new StringBuffer();
-
-				// Include timestamp into message
-				if(!IS_RELEASE&&channel.includeTimeStamp()){
-					logentry.append(sdf.format(Calendar.getInstance().getTime()));
-				}
+		// Include event into message
+		if(!IS_RELEASE&&channel.includeLogEvent()){
+			logentry.append(event);
+			logentry.append(" ");
+		}
 
-				// Include event into message
-				if(!IS_RELEASE&&channel.includeLogEvent()){
-					logentry.append(event);
-					logentry.append(" ");
-				}
+		if(!IS_RELEASE){
+			// Include Module name into message
+			logentry.append("[");
+			logentry.append(caller.module);
+			logentry.append("] ");
+
+			// Include Caller Classname into message
+			logentry.append("<");
+			logentry.append(caller.callerName);
+			logentry.append(":");
+			logentry.append(source.getLineNumber());
+			// Include invocation-thread
+			if (!(Thread.currentThread().getName().equals("") || Thread.currentThread().getName().equals("main"))) {
+				logentry.append("~");
+				logentry.append(Thread.currentThread().getName());
+			}
+			logentry.append("> ");
+		}
+		String messageStr = StringUtil.resolve(message);
+		if(channel.doIndentation()){
+			// Create tab to format output
+			StringBuffer tab = new StringBuffer();
+			for (int i = 0; i < logentry.length(); i++) {
+				tab.append(" ");
+			}
 
-				if(!IS_RELEASE){
-					// Include Module name into message
-					logentry.append("[");
-					logentry.append(getModuleName(callerNSTokens));
-					logentry.append("] ");
-
-					// Include Caller Classname into message
-					logentry.append("<");
-					logentry.append(getCallerName(callerNSTokens));
-					// Include invocation-thread
-					if (!(Thread.currentThread().getName().equals("") || Thread.currentThread().getName().equals("main"))) {
-						logentry.append("~");
-						logentry.append(Thread.currentThread().getName());
-					}
-					logentry.append("> ");
-				}
-				String messageStr = StringUtil.resolve(message);
-				if(channel.doIndentation()){
-					// Create tab to format output
-					StringBuffer tab = new StringBuffer();
-					for (int i = 0; i < logentry.length(); i++) {
-						tab.append(" ");
-					}
+			// Format output
+			messageStr = messageStr.replaceAll("\n", "\n" + tab);
+		}
 
-					// Format output
-					messageStr = messageStr.replaceAll("\n", "\n" + tab);
-				}
+		logentry.append(messageStr);
+		channel.log(logentry.toString(), event);
+	}
 
-				logentry.append(messageStr);
-				channel.log(logentry.toString(), event);
-			}
+	/**
+	 * Returns the stack frame of the caller of the public log method which called this method.
+	 */
+	private static StackTraceElement getSource() {
+		// [0] is this method, [1] the log method, [2] its caller
+		return new Throwable().getStackTrace()[2];
 	}
 
 	/**
 	 * Push out a log message.
+	 * <p>
+	 * The calling class is determined by the stack trace, so frequently
+	 * called code should rather use a {@link #forClass(Class) handle}.</p>
 	 *
 	 * @param event Classification of the delivered Message.
 	 * @param message Sequence of Objects/Messages
@@ -270,11 +282,10 @@ public class LogUtil {
 	 */
 	public static boolean log(LogEvent event, Object... message) {
 		if(LOGGING_ENABLED && doLogEvent(event)){
-			StackTraceElement source = Thread.currentThread().getStackTrace()[2];
-			if(IS_RELEASE){
-				printInternal(source.getClassName(), event, message);
-			} else {
-				printInternal(source.getClassName()+":"+source.getLineNumber(), event, message);
+			StackTraceElement source = getSource();
+			LogHandle caller = getHandle(source.getClassName());
+			if(caller.enabled){
+				printInternal(caller, source, event, message);
 			}
 		}
 		return true;
@@ -288,7 +299,91 @@ public class LogUtil {
 	 * @return always true for use with asserts
 	 */
 	public static boolean log(LogEvent event, Supplier<?>... messageSupplier) {
-		return log(event, (Object[])messageSupplier);
+		if(LOGGING_ENABLED && doLogEvent(event)){
+			StackTraceElement source = getSource();
+			LogHandle caller = getHandle(source.getClassName());
+			if(caller.enabled){
+				printInternal(caller, source, event, (Object[])messageSupplier);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the log handle of the given class. Unlike {@link #log(LogEvent, Object...)},
+	 * the handle does not have to determine the calling class for every message, and
+	 * whether the module of the class is logged is decided only once.
+	 * Typically, the handle is kept in a static field:
+	 * <pre>
+	 * private static final LogUtil.LogHandle LOG = LogUtil.forClass(MyClass.class);
+	 * ...
+	 * LOG.log(LogEvent.DEBUG, "Message");
+	 * </pre>
+	 *
+	 * @param clazz the class that logs the messages
+	 * @return the log handle of the class
+	 */
+	public static LogHandle forClass(Class<?> clazz) {
+		return getHandle(clazz.getName());
+	}
+
+	/**
+	 * Handle for logging messages of a specific class.
+	 *
+	 * @see LogUtil#forClass(Class)
+	 */
+	public static final class LogHandle {
+
+		private final String module;
+		private final String callerName;
+		private final boolean enabled;
+
+		private LogHandle(String fqCallerClassName) {
+			String callerNSTokens[] = fqCallerClassName.split("\\.");
+			this.module = (callerNSTokens.length > MODULE_INDEX) ? callerNSTokens[MODULE_INDEX] : "DEFAULT";
+			this.callerName = callerNSTokens[callerNSTokens.length-1];
+			// The log modules are fixed after initialization
+			this.enabled = doLogModule(module);
+		}
+
+		/**
+		 * Returns whether messages of the given event are logged for this class.
+		 * Can be used to avoid the creation of expensive messages.
+		 *
+		 * @param event Classification of the Message.
+		 * @return <code>true</code> if the messages are logged
+		 */
+		public boolean isEnabled(LogEvent event) {
+			return enabled && LOGGING_ENABLED && doLogEvent(event);
+		}
+
+		/**
+		 * Push out a log message.
+		 *
+		 * @param event Classification of the delivered Message.
+		 * @param message Sequence of Objects/Messages
+		 * @return always true for use with asserts
+		 */
+		public boolean log(LogEvent event, Object... message) {
+			if(isEnabled(event)){
+				printInternal(this, IS_RELEASE ? null : getSource(), event, message);
+			}
+			return true;
+		}
+
+		/**
+		 * Lazily push out a log message.
+		 *
+		 * @param event Classification of the delivered Message.
+		 * @param messageSupplier Supplier of Objects/Messages
+		 * @return always true for use with asserts
+		 */
+		public boolean log(LogEvent event, Supplier<?>... messageSupplier) {
+			if(isEnabled(event)){
+				printInternal(this, IS_RELEASE ? null : getSource(), event, (Object[])messageSupplier);
+			}
+			return true;
+		}
 	}
 
 	private static boolean disableRelease() {
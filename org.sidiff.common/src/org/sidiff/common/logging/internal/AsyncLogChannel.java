@@ -0,0 +1,341 @@
+package org.sidiff.common.logging.internal;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.sidiff.common.logging.ILogChannel;
+import org.sidiff.common.logging.LogEvent;
+
+/**
+ * LogChannel that forwards the log messages asynchronously to another log channel.
+ * <p>
+ * The messages are put into a bounded, lock-free ring buffer. A single consumer thread
+ * takes them out and passes them in batches to the other channel, so that e.g. the
+ * {@link FileLogChannel} flushes its output once per batch instead of once per message.
+ * The behavior when the buffer is full is defined by the {@link OverflowPolicy}.
+ * Remaining messages are written when the channel is closed or the virtual machine shuts down.</p>
+ * <p>
+ * <b>-DASYNCCHANNEL=x</b> Defines the channel to forward to, default: ConsoleLogChannel<br>
+ * <b>-DASYNCCAPACITY=x</b> Defines the capacity of the buffer, default: 8192<br>
+ * <b>-DASYNCOVERFLOW=x</b> Defines the overflow policy (BLOCK, DROP, SAMPLE), default: BLOCK</p>
+ */
+public class AsyncLogChannel implements ILogChannel {
+
+	private static final String PROPERTY_NAME_CHANNEL = "ASYNCCHANNEL";
+	private static final String PROPERTY_NAME_CAPACITY = "ASYNCCAPACITY";
+	private static final String PROPERTY_NAME_OVERFLOW = "ASYNCOVERFLOW";
+	private static final String CHANNEL_PREFIX = "org.sidiff.common.logging.internal.";
+
+	private static final String DEFAULT_CHANNEL = "ConsoleLogChannel";
+	private static final int DEFAULT_CAPACITY = 8192;
+
+	private static final int MAX_BATCH_SIZE = 256;
+
+	/**
+	 * Every n-th message is kept by the {@link OverflowPolicy#SAMPLE} policy.
+	 */
+	private static final int SAMPLE_RATE = 100;
+
+	private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+	private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+	/**
+	 * Defines what happens to a message if the buffer is full.
+	 */
+	public enum OverflowPolicy {
+		/**
+		 * The logging thread waits until the message can be buffered.
+		 */
+		BLOCK,
+		/**
+		 * The message is dropped.
+		 */
+		DROP,
+		/**
+		 * Every {@value AsyncLogChannel#SAMPLE_RATE}th message is kept as with {@link #BLOCK},
+		 * all others are dropped.
+		 */
+		SAMPLE
+	}
+
+	private final ILogChannel channel;
+	private final OverflowPolicy overflowPolicy;
+
+	// Ring buffer, the sequence of a slot tells whether it can be written (== position)
+	// or read (== position + 1), see D. Vyukov's bounded MPMC queue
+	private final int mask;
+	private final String[] messages;
+	private final LogEvent[] events;
+	private final AtomicLongArray sequences;
+	private final AtomicLong tail = new AtomicLong();
+	private long head = 0; // only accessed by the consumer, after it has stopped under the shutdown lock
+
+	private final AtomicLong dropped = new AtomicLong();
+	private final AtomicLong overflows = new AtomicLong();
+
+	private final Thread consumer;
+	private volatile boolean consumerWaiting = false;
+	private volatile boolean running = true;
+
+	private final Object shutdownLock = new Object();
+	private final Thread shutdownHook;
+
+	public AsyncLogChannel() {
+		this(createChannel(System.getProperty(PROPERTY_NAME_CHANNEL, DEFAULT_CHANNEL)),
+				Integer.getInteger(PROPERTY_NAME_CAPACITY, DEFAULT_CAPACITY),
+				OverflowPolicy.valueOf(System.getProperty(PROPERTY_NAME_OVERFLOW, OverflowPolicy.BLOCK.name()).toUpperCase()));
+	}
+
+	/**
+	 * Creates an asynchronous channel.
+	 * @param channel the channel to forward the messages to
+	 * @param capacity the capacity of the buffer, rounded up to the next power of two
+	 * @param overflowPolicy the behavior when the buffer is full
+	 */
+	public AsyncLogChannel(ILogChannel channel, int capacity, OverflowPolicy overflowPolicy) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("Invalid capacity: " + capacity);
+		}
+		this.channel = channel;
+		this.overflowPolicy = overflowPolicy;
+
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity) {
+			size <<= 1;
+		}
+		this.mask = size - 1;
+		this.messages = new String[size];
+		this.events = new LogEvent[size];
+		this.sequences = new AtomicLongArray(size);
+		for (int i = 0; i < size; i++) {
+			sequences.set(i, i);
+		}
+
+		this.consumer = new Thread(this::consume, getKey());
+		this.consumer.setDaemon(true);
+		this.consumer.start();
+		this.shutdownHook = new Thread(this::close, getKey() + "-Shutdown");
+		Runtime.getRuntime().addShutdownHook(shutdownHook);
+	}
+
+	private static ILogChannel createChannel(String channelName) {
+		if (channelName.indexOf(".")==-1) {
+			channelName = CHANNEL_PREFIX + channelName;
+		}
+
+		try {
+			Class<?> channelClass = Class.forName(channelName);
+			return (ILogChannel)channelClass.getConstructor().newInstance();
+		} catch (Exception e) {
+			throw new IllegalStateException("Cannot get output Channel:" + channelName, e);
+		}
+	}
+
+	@Override
+	public void log(String message, LogEvent event) {
+		if (!running) {
+			// Shut down, write synchronously
+			writeAfterShutdown(message, event);
+			return;
+		}
+		if (!offer(message, event)) {
+			if (overflowPolicy == OverflowPolicy.DROP
+					|| (overflowPolicy == OverflowPolicy.SAMPLE && overflows.getAndIncrement() % SAMPLE_RATE != 0)) {
+				dropped.incrementAndGet();
+				return;
+			}
+			while (!offer(message, event)) {
+				if (!running) {
+					writeAfterShutdown(message, event);
+					return;
+				}
+				wakeConsumer();
+				LockSupport.parkNanos(this, BLOCKED_PARK_NANOS);
+			}
+		}
+		if (!running) {
+			// The consumer may have stopped before the message was put into the buffer
+			writeAfterShutdown(null, null);
+		} else if (consumerWaiting) {
+			wakeConsumer();
+		}
+	}
+
+	/**
+	 * Puts the message into the buffer.
+	 * @return <code>false</code> if the buffer is full
+	 */
+	private boolean offer(String message, LogEvent event) {
+		long position = tail.get();
+		while (true) {
+			int index = (int)position & mask;
+			long difference = sequences.get(index) - position;
+			if (difference == 0) {
+				if (tail.compareAndSet(position, position + 1)) {
+					messages[index] = message;
+					events[index] = event;
+					// Not lazy, the producer checks whether the consumer is still running afterwards
+					sequences.set(index, position + 1);
+					return true;
+				}
+				position = tail.get();
+			} else if (difference < 0) {
+				return false;
+			} else {
+				position = tail.get();
+			}
+		}
+	}
+
+	/**
+	 * Takes the available messages out of the buffer, at most {@value #MAX_BATCH_SIZE}.
+	 * @return <code>true</code> if there have been messages
+	 */
+	private boolean drain(List<String> batchMessages, List<LogEvent> batchEvents) {
+		while (batchMessages.size() < MAX_BATCH_SIZE) {
+			int index = (int)head & mask;
+			if (sequences.get(index) != head + 1) {
+				break;
+			}
+			batchMessages.add(messages[index]);
+			batchEvents.add(events[index]);
+			messages[index] = null;
+			events[index] = null;
+			sequences.lazySet(index, head + mask + 1);
+			head++;
+		}
+		return !batchMessages.isEmpty();
+	}
+
+	private void consume() {
+		List<String> batchMessages = new ArrayList<>(MAX_BATCH_SIZE);
+		List<LogEvent> batchEvents = new ArrayList<>(MAX_BATCH_SIZE);
+		while (true) {
+			if (drain(batchMessages, batchEvents)) {
+				write(batchMessages, batchEvents);
+			} else if (running) {
+				consumerWaiting = true;
+				// Check again, a message may have been put while the flag was not set
+				if (!drain(batchMessages, batchEvents)) {
+					LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+				}
+				consumerWaiting = false;
+			} else if (!drain(batchMessages, batchEvents)) {
+				// Shut down and all messages are written
+				return;
+			}
+		}
+	}
+
+	private void write(List<String> batchMessages, List<LogEvent> batchEvents) {
+		long droppedMessages = dropped.getAndSet(0);
+		if (droppedMessages > 0) {
+			batchMessages.add(droppedMessages + " log messages dropped, the log buffer is full");
+			batchEvents.add(LogEvent.WARNING);
+		}
+		try {
+			synchronized (channel) {
+				channel.log(batchMessages, batchEvents);
+			}
+		} catch (RuntimeException e) {
+			e.printStackTrace();
+		} finally {
+			batchMessages.clear();
+			batchEvents.clear();
+		}
+	}
+
+	/**
+	 * Writes the messages remaining in the buffer after the consumer has stopped,
+	 * followed by the given message, if any.
+	 */
+	private void writeAfterShutdown(String message, LogEvent event) {
+		List<String> batchMessages = new ArrayList<>();
+		List<LogEvent> batchEvents = new ArrayList<>();
+		if (message != null) {
+			batchMessages.add(message);
+			batchEvents.add(event);
+		}
+		if (Thread.currentThread() == consumer) {
+			// Logged while writing a batch, the consumer writes the remaining messages itself
+			if (!batchMessages.isEmpty()) {
+				write(batchMessages, batchEvents);
+			}
+			return;
+		}
+		joinConsumer();
+		synchronized (shutdownLock) {
+			List<String> remainingMessages = new ArrayList<>(MAX_BATCH_SIZE);
+			List<LogEvent> remainingEvents = new ArrayList<>(MAX_BATCH_SIZE);
+			while (drain(remainingMessages, remainingEvents)) {
+				write(remainingMessages, remainingEvents);
+			}
+			if (!batchMessages.isEmpty()) {
+				write(batchMessages, batchEvents);
+			}
+		}
+	}
+
+	private void joinConsumer() {
+		boolean interrupted = false;
+		while (consumer.isAlive()) {
+			try {
+				consumer.join();
+			} catch (InterruptedException e) {
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void wakeConsumer() {
+		LockSupport.unpark(consumer);
+	}
+
+	/**
+	 * Writes all buffered messages and stops the consumer thread.
+	 * Messages logged afterwards are written synchronously.
+	 */
+	public void close() {
+		running = false;
+		wakeConsumer();
+		writeAfterShutdown(null, null);
+		try {
+			Runtime.getRuntime().removeShutdownHook(shutdownHook);
+		} catch (IllegalStateException e) {
+			// Closed by the shutdown hook
+		}
+	}
+
+	@Override
+	public SimpleDateFormat createDateFormat() {
+		return channel.createDateFormat();
+	}
+
+	@Override
+	public boolean doIndentation() {
+		return channel.doIndentation();
+	}
+
+	@Override
+	public boolean includeLogEvent() {
+		return channel.includeLogEvent();
+	}
+
+	@Override
+	public boolean includeTimeStamp() {
+		return channel.includeTimeStamp();
+	}
+
+	@Override
+	public String getKey() {
+		return getClass().getSimpleName();
+	}
+}
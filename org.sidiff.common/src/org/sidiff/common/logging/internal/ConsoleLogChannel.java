@@ -2,6 +2,7 @@ package org.sidiff.common.logging.internal;
 
 import java.io.PrintWriter;
 import java.text.SimpleDateFormat;
+import java.util.List;
 
 import org.sidiff.common.logging.ILogChannel;
 import org.sidiff.common.logging.LogEvent;
@@ -29,6 +30,14 @@ public class ConsoleLogChannel implements ILogChannel {
 		this.log.flush();
 	}
 
+	@Override
+	public void log(List<String> messages, List<LogEvent> events) {
+		for (String message : messages) {
+			this.log.print(message + "\n");
+		}
+		this.log.flush();
+	}
+
 	@Override
 	public boolean doIndentation() {
 		return true;